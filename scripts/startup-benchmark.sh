@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# 이미지별 시작 시간(컨테이너 실행 ~ 첫 HTTP 응답)과 그 시점의 RSS를 측정한다.
+# docker-compose.yml과 같은 제한(CPU 0.5, 메모리 512MB)으로 실행하고, DB와 Redis는 compose로 띄운 것을 사용한다.
+#
+#   docker compose up -d database redis
+#   ./scripts/startup-benchmark.sh notification-system:baseline notification-system notification-system:aot
+#
+# 환경 변수: RUNS(기본 5), NETWORK(기본 <디렉터리명>_local_network), ENV_FILE(기본 .env), TIMEOUT_SECONDS(기본 180)
+set -euo pipefail
+
+if [ "$#" -eq 0 ]; then
+  echo "usage: $0 <image> [image...]" >&2
+  exit 1
+fi
+
+RUNS="${RUNS:-5}"
+NETWORK="${NETWORK:-$(basename "$PWD")_local_network}"
+ENV_FILE="${ENV_FILE:-.env}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-180}"
+PORT=18080
+URL="http://localhost:${PORT}/actuator/health"
+CONTAINER=startup-benchmark
+
+now_millis() {
+  date +%s%3N
+}
+
+cleanup() {
+  docker rm -f "$CONTAINER" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+# 한 번 실행: "시작 시간(ms) RSS(KB)" 출력
+run_once() {
+  local image="$1"
+  cleanup
+  local started
+  started=$(now_millis)
+  docker run -d --name "$CONTAINER" \
+    --cpus=0.5 --memory=512m \
+    --network "$NETWORK" -p "${PORT}:8080" \
+    --env-file "$ENV_FILE" \
+    -e SPRING_PROFILES_ACTIVE=docker -e SPRING_REDIS_HOST=redis -e SPRING_REDIS_PORT=6379 \
+    "$image" >/dev/null
+
+  # health 상태(UP/DOWN)와 관계없이 응답을 받으면 요청을 처리할 수 있는 상태로 본다.
+  local deadline=$((started + TIMEOUT_SECONDS * 1000))
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)" != "000" ]; do
+    if [ "$(now_millis)" -gt "$deadline" ] || [ "$(docker inspect -f '{{.State.Running}}' "$CONTAINER")" != "true" ]; then
+      echo "시작 실패: $image" >&2
+      docker logs --tail 50 "$CONTAINER" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  local elapsed=$(( $(now_millis) - started ))
+
+  # ENTRYPOINT가 exec로 java를 실행하므로 PID 1이 JVM이다. (이미지에 awk가 없을 수 있어 호스트에서 파싱)
+  local rss
+  rss=$(docker exec "$CONTAINER" cat /proc/1/status | awk '/VmRSS/ {print $2}')
+  echo "$elapsed $rss"
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+printf '%-40s %8s %14s %14s\n' "image" "runs" "startup(ms)" "rss(MB)"
+for image in "$@"; do
+  startups=()
+  rsses=()
+  for i in $(seq 1 "$RUNS"); do
+    result=$(run_once "$image")
+    read -r elapsed rss <<< "$result"
+    echo "  $image #$i: ${elapsed}ms, $((rss / 1024))MB" >&2
+    startups+=("$elapsed")
+    rsses+=("$rss")
+  done
+  startup_median=$(printf '%s\n' "${startups[@]}" | median)
+  rss_median=$(printf '%s\n' "${rsses[@]}" | median)
+  printf '%-40s %8s %14s %14s\n' "$image" "$RUNS" "$startup_median" "$((rss_median / 1024))"
+done
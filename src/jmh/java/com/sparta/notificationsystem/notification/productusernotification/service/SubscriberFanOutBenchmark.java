@@ -0,0 +1,137 @@
+package com.sparta.notificationsystem.notification.productusernotification.service;
+
+import com.sparta.notificationsystem.global.common.LongArrayView;
+import com.sparta.notificationsystem.notification.channel.DeliveryBatch;
+import com.sparta.notificationsystem.notification.channel.DeliveryResult;
+import com.sparta.notificationsystem.notification.channel.NotificationDigestBuffer;
+import com.sparta.notificationsystem.notification.channel.NotificationDispatcher;
+import com.sparta.notificationsystem.notification.channel.SseNotificationChannel;
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex.SliceBuilder;
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex.TierSlice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 구독자 목록 decode + chunk 분할 비용 비교 (Redis 왕복과 Redis 클라이언트 내부 할당은 포함하지 않는다)
+// - boxed    : 이전 경로. member 문자열을 Long으로 파싱해서 List<Long>을 만들고 Flux.fromIterable(...).buffer(chunkSize)로 나눈다.
+// - primitive: 현재 경로. score를 long으로 복원해서 등급별 long[]을 만들고 chunk 단위로 배열을 잘라서 내보낸다.
+// chunk를 SSE 채널로 보내는 NotificationDispatcher 경로도 비교한다. (이전 경로는 dispatcher 안의 처리를 그대로 옮겨서 재현)
+// - dispatchBoxed: 이전 경로. buffer로 유저 id를 다시 List에 담고, 유저마다 DeliveryResult를 만들어 HashSet으로 모은다.
+// - dispatch     : 현재 경로. chunk를 그대로 넘기고 채널 호출마다 결과 하나(실패 위치 BitSet)만 만든다.
+// ./gradlew jmh 로 실행한다. gc 프로파일러의 gc.alloc.rate.norm(B/op)으로 유저당 할당량을 비교한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SubscriberFanOutBenchmark {
+    private static final int CHUNK_SIZE = 500;
+
+    @Param({"100000", "1000000"})
+    private int subscribers;
+
+    private List<String> members;   // Redis ZSET member (이전 경로에서 읽던 값)
+    private double[] scores;    // Redis ZSET score (현재 경로에서 읽는 값)
+    private List<long[]> chunks;    // dispatch 대상 chunk
+    private NotificationDispatcher dispatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        members = new ArrayList<>(subscribers);
+        scores = new double[subscribers];
+        int earlyAccess = subscribers / 10;  // 앞의 10%는 얼리 액세스 등급
+        for (int i = 0; i < subscribers; i++) {
+            long userId = 1_000_000L + i;
+            int tier = i < earlyAccess ? 1 : 0;
+            members.add(String.valueOf(userId));
+            scores[i] = ProductSubscriberIndex.score(tier, userId);
+        }
+        chunks = new ArrayList<>();
+        for (int from = 0; from < subscribers; from += CHUNK_SIZE) {
+            long[] chunk = new long[Math.min(CHUNK_SIZE, subscribers - from)];
+            for (int i = 0; i < chunk.length; i++) {
+                chunk[i] = 1_000_000L + from + i;
+            }
+            chunks.add(chunk);
+        }
+        Sinks.Many<String> sink = Sinks.many().multicast().directBestEffort();
+        sink.asFlux().subscribe();  // 구독자가 없으면 발행이 실패로 끝난다.
+        dispatcher = new NotificationDispatcher(List.of(new SseNotificationChannel(sink, 64, 1024)), new SimpleMeterRegistry(),
+                new NotificationDigestBuffer(false, 60000, new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public long boxed() {
+        List<Long> userIds = members.stream().map(Long::parseLong).toList();
+        return Flux.fromIterable(userIds)
+                .buffer(CHUNK_SIZE)
+                .map(chunk -> chunk.get(chunk.size() - 1))
+                .reduce(0L, Long::sum)
+                .block();
+    }
+
+    @Benchmark
+    public long primitive() {
+        SliceBuilder builder = new SliceBuilder();
+        for (double value : scores) {
+            long score = (long) value;
+            int tier = ProductSubscriberIndex.tierOf(score);
+            builder.append(tier, score + tier * ProductSubscriberIndex.TIER_SPAN);
+        }
+        List<TierSlice> slices = builder.build();
+        return Flux.fromIterable(slices)
+                .concatMap(slice -> Flux.range(0, (slice.size() + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                        .map(index -> Arrays.copyOfRange(slice.userIds(), index * CHUNK_SIZE, Math.min(slice.size(), (index + 1) * CHUNK_SIZE))))
+                .map(chunk -> chunk[chunk.length - 1])
+                .reduce(0L, Long::sum)
+                .block();
+    }
+
+    @Benchmark
+    public long dispatchBoxed() {
+        long delivered = 0;
+        for (long[] chunk : chunks) {
+            List<Long> userIds = LongArrayView.of(chunk);
+            Set<Long> deliveredUserIds = Flux.fromIterable(userIds)
+                    .buffer(Integer.MAX_VALUE)
+                    .map(slice -> slice.stream().map(DeliveryResult::delivered).toList())
+                    .flatMapIterable(results -> results)
+                    .filter(DeliveryResult::isDelivered)
+                    .map(DeliveryResult::userId)
+                    .collect(Collectors.toCollection(HashSet::new))
+                    .block();
+            delivered += userIds.stream().filter(deliveredUserIds::contains).toList().size();
+        }
+        return delivered;
+    }
+
+    @Benchmark
+    public long dispatch() {
+        long delivered = 0;
+        for (long[] chunk : chunks) {
+            delivered += dispatcher.dispatch(new DeliveryBatch(1L, 1, "재입고 알림", LongArrayView.of(chunk))).block().size();
+        }
+        return delivered;
+    }
+}
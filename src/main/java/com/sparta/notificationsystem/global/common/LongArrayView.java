@@ -0,0 +1,28 @@
+package com.sparta.notificationsystem.global.common;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+// long[]를 복사하지 않고 읽기 전용 List<Long>으로 보여준다.
+// List<Long>을 받는 API(알림 채널 등)에 넘길 때 전체를 미리 박싱하지 않고, 꺼내는 원소만 그때그때 박싱한다.
+public final class LongArrayView extends AbstractList<Long> implements RandomAccess {
+    private final long[] values;
+
+    private LongArrayView(long[] values) {
+        this.values = values;
+    }
+
+    public static LongArrayView of(long[] values) {
+        return new LongArrayView(values);
+    }
+
+    @Override
+    public Long get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
@@ -1,25 +1,47 @@
 package com.sparta.notificationsystem.global.common;
 
-import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
-import reactor.core.publisher.Flux;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+
+import java.io.IOException;
 
 @RestController
 @Slf4j
 @RequiredArgsConstructor
 public class TestController {
     private final TestService testService;
+
+    // 이벤트마다 한 번 인코딩된 SSE 프레임을 그대로 쓰기 때문에 구독자 수가 늘어도 인코딩 비용은 늘지 않는다.
     @GetMapping(value = "/products/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<String>> streamNotifications() {
-        return testService.getNotificationStream()
-                .map(message -> ServerSentEvent.<String>builder()
-                        .event("restock-notification")  // 이벤트 타입 설정
-                        .data(message)  // 전송할 메시지 데이터
-                        .build());
+    public ResponseEntity<ResponseBodyEmitter> streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        Disposable subscription = testService.getNotificationStream(lastEventId)
+                .subscribe(
+                        event -> {
+                            try {
+                                emitter.send(event.frame(), MediaType.APPLICATION_OCTET_STREAM);  // 공유 프레임 전송
+                            } catch (IOException e) {
+                                emitter.completeWithError(e);
+                            }
+                        },
+                        emitter::completeWithError,
+                        emitter::complete);
+
+        // 연결이 끊기면 스트림 구독도 해제
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(throwable -> subscription.dispose());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(emitter);
     }
 }
@@ -1,19 +1,21 @@
 package com.sparta.notificationsystem.global.common;
 
+import com.sparta.notificationsystem.notification.stream.NotificationEvent;
+import com.sparta.notificationsystem.notification.stream.NotificationEventStore;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 
 @Service
 public class TestService {
-    private final Flux<String> restockNotificationStream;
+    private final NotificationEventStore notificationEventStore;
 
-    public TestService(Flux<String> restockNotificationStream) {
-        this.restockNotificationStream = restockNotificationStream;
+    public TestService(NotificationEventStore notificationEventStore) {
+        this.notificationEventStore = notificationEventStore;
     }
 
     // SSE 스트림을 제공하는 메서드
-    public Flux<String> getNotificationStream() {
-        // Sink에서 Flux로 변환하여 알림을 스트리밍
-        return restockNotificationStream;
+    // lastEventId가 있으면 그 이후에 놓친 이벤트부터 이어서 스트리밍
+    public Flux<NotificationEvent> getNotificationStream(Long lastEventId) {
+        return notificationEventStore.stream(lastEventId);
     }
 }
@@ -0,0 +1,21 @@
+package com.sparta.notificationsystem.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    // 알림 히스토리 saveAll을 JDBC batch insert로 묶는다.
+    // (MySQL은 접속 URL에 rewriteBatchedStatements=true 를 추가해야 multi-row insert로 바뀐다)
+    @Bean
+    public HibernatePropertiesCustomizer batchInsertCustomizer(
+            @Value("${notification.jpa.batch-size:500}") int batchSize) {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", batchSize);
+            properties.put("hibernate.order_inserts", true);
+        };
+    }
+}
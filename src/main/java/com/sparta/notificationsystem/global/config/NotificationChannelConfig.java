@@ -0,0 +1,40 @@
+package com.sparta.notificationsystem.global.config;
+
+import com.sparta.notificationsystem.notification.channel.ExternalNotificationChannel;
+import com.sparta.notificationsystem.notification.channel.NotificationChannel;
+import com.sparta.notificationsystem.notification.channel.NotificationProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 외부 제공자를 사용하는 알림 채널 (기본은 꺼져 있고 SSE 채널만 사용)
+// 예: notification.channel.push.enabled=true, notification.channel.push.max-batch-size=500
+// 채널을 켜려면 NotificationProvider 빈이 필요하다. (로컬/테스트는 notification.channel.fake.enabled=true 로 가짜 제공자 사용)
+@Configuration
+public class NotificationChannelConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.channel.webhook.enabled", havingValue = "true")
+    public NotificationChannel webhookNotificationChannel(NotificationProvider notificationProvider,
+                                                          @Value("${notification.channel.webhook.max-batch-size:100}") int maxBatchSize,
+                                                          @Value("${notification.channel.webhook.max-concurrency:4}") int maxConcurrency) {
+        return new ExternalNotificationChannel("webhook", maxBatchSize, maxConcurrency, notificationProvider);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.channel.push.enabled", havingValue = "true")
+    public NotificationChannel pushNotificationChannel(NotificationProvider notificationProvider,
+                                                       @Value("${notification.channel.push.max-batch-size:500}") int maxBatchSize,
+                                                       @Value("${notification.channel.push.max-concurrency:8}") int maxConcurrency) {
+        return new ExternalNotificationChannel("push", maxBatchSize, maxConcurrency, notificationProvider);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.channel.email.enabled", havingValue = "true")
+    public NotificationChannel emailNotificationChannel(NotificationProvider notificationProvider,
+                                                        @Value("${notification.channel.email.max-batch-size:50}") int maxBatchSize,
+                                                        @Value("${notification.channel.email.max-concurrency:4}") int maxConcurrency) {
+        return new ExternalNotificationChannel("email", maxBatchSize, maxConcurrency, notificationProvider);
+    }
+}
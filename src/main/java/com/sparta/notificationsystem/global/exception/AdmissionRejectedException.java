@@ -0,0 +1,26 @@
+package com.sparta.notificationsystem.global.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+// 과부하(429)나 의존성 장애(503)로 재입고 알림 요청을 받지 않을 때 발생
+// retryAfter는 Retry-After 헤더로 내려서 클라이언트가 언제 다시 시도할지 알 수 있게 한다.
+public class AdmissionRejectedException extends RuntimeException {
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(HttpStatus status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
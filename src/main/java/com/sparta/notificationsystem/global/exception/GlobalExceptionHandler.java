@@ -2,6 +2,7 @@ package com.sparta.notificationsystem.global.exception;
 
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -63,6 +64,28 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(restApiException, HttpStatus.CONFLICT);
     }
+    @ExceptionHandler(NotificationPausedException.class)
+    public ResponseEntity<RestApiException> handleNotificationPausedException(NotificationPausedException ex, HttpServletRequest request) {
+        RestApiException restApiException = new RestApiException(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(restApiException, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<RestApiException> handleAdmissionRejectedException(AdmissionRejectedException ex, HttpServletRequest request) {
+        RestApiException restApiException = new RestApiException(
+                LocalDateTime.now(),
+                ex.getStatus().value(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(restApiException);
+    }
     @ExceptionHandler(RequestNotPermitted.class)
     public ResponseEntity<RestApiException> handleRateLimitException(HttpServletRequest request) {
         RestApiException restApiException = new RestApiException(
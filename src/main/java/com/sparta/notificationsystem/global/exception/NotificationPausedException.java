@@ -0,0 +1,9 @@
+package com.sparta.notificationsystem.global.exception;
+
+// 의존성(MySQL, Redis, 발송 채널) 장애로 알림 발송을 checkpoint에서 멈췄을 때 발생
+// 중단된 알림은 수동 재전송으로 checkpoint 이후부터 이어서 보낼 수 있다.
+public class NotificationPausedException extends RuntimeException {
+    public NotificationPausedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sparta.notificationsystem.global.exception;
+
+// 발송 중에 재고가 0이 되어 알림을 멈췄을 때 발생 (히스토리는 이미 CANCELED_BY_SOLD_OUT으로 저장되어 있다)
+// 의존성 장애가 아니므로 오류 히스토리를 남기지 않고, 자동 재개 대상도 아니다. (재입고 후 수동 재전송)
+public class NotificationSoldOutException extends IllegalArgumentException {
+    public NotificationSoldOutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,183 @@
+package com.sparta.notificationsystem.global.limiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// AIMD 방식으로 동시 실행 수를 조절하는 limiter
+// 지연 시간이 기준 이하이면 limit을 1씩 늘리고, 기준을 넘거나 오류가 나면 backoffRatio만큼 줄인다.
+// limit을 넘는 요청은 스레드를 잡지 않고 대기열에서 기다린다.
+// 최근 지연 시간(EWMA)은 admission control이 의존성 상태를 판단하는 데 쓴다.
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    private static final double LATENCY_WEIGHT = 0.2;   // 새 sample의 가중치
+    private static final long LATENCY_WINDOW_NANOS = 10_000_000_000L;   // 이 시간 동안 sample이 없으면 지연 시간을 0으로 본다.
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double latencyNanos;    // 최근 지연 시간 (EWMA)
+    private long lastSampleAt;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdMillis, double backoffRatio, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdMillis * 1_000_000L;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("notification.fanout.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("dependency", name)
+                .description("현재 허용된 동시 실행 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.fanout.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("dependency", name)
+                .description("현재 실행 중인 작업 수")
+                .register(meterRegistry);
+    }
+
+    // limit 안에서 task를 실행하고 걸린 시간으로 limit을 조절한다.
+    public <T> Mono<T> execute(Mono<T> task) {
+        return acquire().flatMap(permit -> task
+                .doOnError(throwable -> permit.failed = true)
+                .doFinally(signal -> release(permit, true)));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    // 최근 지연 시간 (EWMA). 최근 LATENCY_WINDOW 동안 완료된 작업이 없으면 0 (오래된 값으로 계속 거절하지 않도록)
+    public synchronized long getLatencyMillis() {
+        if (lastSampleAt == 0 || System.nanoTime() - lastSampleAt > LATENCY_WINDOW_NANOS) {
+            return 0;
+        }
+        return (long) (latencyNanos / 1_000_000);
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> cancel(waiter));
+            boolean granted;
+            synchronized (this) {
+                if (waiter.cancelled) {
+                    return;
+                }
+                granted = inFlight < (int) limit && waiters.isEmpty();
+                if (granted) {
+                    inFlight++;
+                    waiter.permit = new Permit();
+                } else {
+                    waiters.add(waiter);
+                }
+            }
+            if (granted) {
+                sink.success(waiter.permit);
+            }
+        });
+    }
+
+    // sample이 true이면 실행 시간을 limit 조절에 반영한다.
+    private void release(Permit permit, boolean sample) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        long latency = System.nanoTime() - permit.startedAt;
+        List<Waiter> granted;
+        synchronized (this) {
+            inFlight--;
+            if (sample) {
+                adjustLimit(latency, permit.failed);
+                recordLatency(latency);
+            }
+            granted = grantAvailable();
+        }
+        granted.forEach(waiter -> waiter.sink.success(waiter.permit));
+    }
+
+    // 대기 중에 취소된 경우: 아직 허가 전이면 대기열에서 빼고, 이미 허가됐으면 실행하지 않은 채로 반납한다.
+    private void cancel(Waiter waiter) {
+        Permit permit;
+        synchronized (this) {
+            waiter.cancelled = true;
+            permit = waiter.permit;
+            if (permit == null) {
+                waiters.remove(waiter);
+            }
+        }
+        if (permit != null) {
+            release(permit, false);
+        }
+    }
+
+    // limit에 여유가 있는 만큼 대기자에게 허가를 준다. (락 안에서 호출)
+    private List<Waiter> grantAvailable() {
+        List<Waiter> granted = new ArrayList<>();
+        while (inFlight < (int) limit && !waiters.isEmpty()) {
+            Waiter next = waiters.poll();
+            next.permit = new Permit();
+            inFlight++;
+            granted.add(next);
+        }
+        return granted;
+    }
+
+    // 락 안에서 호출
+    private void adjustLimit(long latencyNanos, boolean failed) {
+        double previous = limit;
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            // 실제로 limit 가까이 쓰고 있을 때만 늘린다.
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        if ((int) previous != (int) limit) {
+            log.debug("[{}] 동시 실행 limit 변경: {} -> {}", name, (int) previous, (int) limit);
+        }
+    }
+
+    // 락 안에서 호출
+    private void recordLatency(long latency) {
+        long now = System.nanoTime();
+        boolean stale = lastSampleAt == 0 || now - lastSampleAt > LATENCY_WINDOW_NANOS;
+        latencyNanos = stale ? latency : latencyNanos + (latency - latencyNanos) * LATENCY_WEIGHT;
+        lastSampleAt = now;
+    }
+
+    private static final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile long startedAt = System.nanoTime();
+        private volatile boolean failed;
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private Permit permit;  // 허가되면 채워진다. (락 안에서 변경)
+        private boolean cancelled;  // 락 안에서 변경
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
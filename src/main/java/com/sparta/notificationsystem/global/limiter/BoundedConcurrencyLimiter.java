@@ -0,0 +1,119 @@
+package com.sparta.notificationsystem.global.limiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 동시 실행 수를 고정된 limit으로 제한하는 limiter (limit을 조절하지 않는다)
+// limit을 넘는 요청은 스레드를 잡지 않고 대기열에서 순서대로 기다린다.
+// 메트릭: {metricPrefix}.limit, {metricPrefix}.in-flight
+public class BoundedConcurrencyLimiter {
+    private final int limit;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private int inFlight;
+
+    public BoundedConcurrencyLimiter(String metricPrefix, Tags tags, int limit, MeterRegistry meterRegistry) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit은 1 이상이어야 합니다: " + limit);
+        }
+        this.limit = limit;
+
+        Gauge.builder(metricPrefix + ".limit", this, BoundedConcurrencyLimiter::getLimit)
+                .tags(tags)
+                .description("허용된 동시 실행 수")
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".in-flight", this, BoundedConcurrencyLimiter::getInFlight)
+                .tags(tags)
+                .description("현재 실행 중인 작업 수")
+                .register(meterRegistry);
+    }
+
+    // limit 안에서 task를 실행한다.
+    public <T> Mono<T> execute(Mono<T> task) {
+        return acquire().flatMap(permit -> task.doFinally(signal -> release(permit)));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> cancel(waiter));
+            boolean granted;
+            synchronized (this) {
+                if (waiter.cancelled) {
+                    return;
+                }
+                granted = inFlight < limit && waiters.isEmpty();
+                if (granted) {
+                    inFlight++;
+                    waiter.permit = new Permit();
+                } else {
+                    waiters.add(waiter);
+                }
+            }
+            if (granted) {
+                sink.success(waiter.permit);
+            }
+        });
+    }
+
+    private void release(Permit permit) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        Waiter next;
+        synchronized (this) {
+            next = waiters.poll();
+            if (next == null) {
+                inFlight--;
+            } else {
+                next.permit = new Permit();  // 반납한 자리를 바로 다음 대기자에게 넘긴다.
+            }
+        }
+        if (next != null) {
+            next.sink.success(next.permit);
+        }
+    }
+
+    // 대기 중에 취소된 경우: 아직 허가 전이면 대기열에서 빼고, 이미 허가됐으면 실행하지 않은 채로 반납한다.
+    private void cancel(Waiter waiter) {
+        Permit permit;
+        synchronized (this) {
+            waiter.cancelled = true;
+            permit = waiter.permit;
+            if (permit == null) {
+                waiters.remove(waiter);
+            }
+        }
+        if (permit != null) {
+            release(permit);
+        }
+    }
+
+    private static final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private Permit permit;  // 허가되면 채워진다. (락 안에서 변경)
+        private boolean cancelled;  // 락 안에서 변경
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sparta.notificationsystem.global.limiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 알림 fan-out 단계에서 의존성별로 사용하는 동시 실행 limiter 모음
+// (현재 limit은 notification.fanout.concurrency.limit 메트릭으로 확인할 수 있다)
+@Component
+public class FanOutConcurrencyLimiters {
+    private final AdaptiveConcurrencyLimiter mysql;
+    private final AdaptiveConcurrencyLimiter redis;
+
+    public FanOutConcurrencyLimiters(MeterRegistry meterRegistry,
+                                     @Value("${notification.fanout.limiter.initial-limit:4}") int initialLimit,
+                                     @Value("${notification.fanout.limiter.min-limit:1}") int minLimit,
+                                     @Value("${notification.fanout.limiter.max-limit:32}") int maxLimit,
+                                     @Value("${notification.fanout.limiter.backoff-ratio:0.9}") double backoffRatio,
+                                     @Value("${notification.fanout.limiter.mysql.latency-threshold-ms:200}") long mysqlLatencyThresholdMillis,
+                                     @Value("${notification.fanout.limiter.redis.latency-threshold-ms:20}") long redisLatencyThresholdMillis) {
+        this.mysql = new AdaptiveConcurrencyLimiter("mysql", initialLimit, minLimit, maxLimit,
+                mysqlLatencyThresholdMillis, backoffRatio, meterRegistry);
+        this.redis = new AdaptiveConcurrencyLimiter("redis", initialLimit, minLimit, maxLimit,
+                redisLatencyThresholdMillis, backoffRatio, meterRegistry);
+    }
+
+    // chunk 단위 알림 히스토리 저장
+    public AdaptiveConcurrencyLimiter mysql() {
+        return mysql;
+    }
+
+    // chunk 단위 재고 확인
+    public AdaptiveConcurrencyLimiter redis() {
+        return redis;
+    }
+}
@@ -0,0 +1,136 @@
+package com.sparta.notificationsystem.global.limiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 여러 상품의 알림 fan-out이 함께 쓰는 전체 발송 예산(동시에 처리하는 chunk 수)을 우선순위 순서로 나눠준다.
+// 예산을 넘는 chunk는 대기열에서 기다리고, 자리가 나면 (상품 긴급도, 구독자 등급)이 높은 chunk부터 실행한다.
+// 우선순위가 같으면 먼저 들어온 순서대로 실행한다.
+@Component
+public class PriorityFanOutScheduler {
+    private static final Comparator<Waiter> ORDER = Comparator
+            .comparingInt((Waiter waiter) -> -waiter.urgency)
+            .thenComparingInt(waiter -> -waiter.tier)
+            .thenComparingLong(waiter -> waiter.sequence);
+
+    private final int budget;
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(ORDER);
+    private long sequence;
+    private int running;
+
+    public PriorityFanOutScheduler(MeterRegistry meterRegistry,
+                                   @Value("${notification.fanout.global-budget:64}") int budget) {
+        this.budget = budget;
+        Gauge.builder("notification.fanout.scheduler.waiting", this, PriorityFanOutScheduler::getWaiting)
+                .description("발송 예산을 기다리는 chunk 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.fanout.scheduler.running", this, PriorityFanOutScheduler::getRunning)
+                .description("발송 예산을 사용 중인 chunk 수")
+                .register(meterRegistry);
+    }
+
+    // 예산 안에서 task를 실행한다. urgency는 상품 긴급도, tier는 구독자 등급 (둘 다 클수록 먼저)
+    public <T> Mono<T> schedule(int urgency, int tier, Mono<T> task) {
+        return acquire(urgency, tier).flatMap(slot -> task.doFinally(signal -> release(slot)));
+    }
+
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    private Mono<Slot> acquire(int urgency, int tier) {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink, urgency, tier);
+            sink.onCancel(() -> cancel(waiter));
+            boolean granted;
+            synchronized (this) {
+                if (waiter.cancelled) {
+                    return;
+                }
+                waiter.sequence = sequence++;
+                granted = running < budget && waiters.isEmpty();
+                if (granted) {
+                    running++;
+                    waiter.slot = new Slot();
+                } else {
+                    waiters.add(waiter);
+                }
+            }
+            if (granted) {
+                sink.success(waiter.slot);
+            }
+        });
+    }
+
+    private void release(Slot slot) {
+        if (!slot.released.compareAndSet(false, true)) {
+            return;
+        }
+        List<Waiter> granted;
+        synchronized (this) {
+            running--;
+            granted = grantAvailable();
+        }
+        granted.forEach(waiter -> waiter.sink.success(waiter.slot));
+    }
+
+    // 대기 중에 취소된 경우: 아직 허가 전이면 대기열에서 빼고, 이미 허가됐으면 실행하지 않은 채로 반납한다.
+    private void cancel(Waiter waiter) {
+        Slot slot;
+        synchronized (this) {
+            waiter.cancelled = true;
+            slot = waiter.slot;
+            if (slot == null) {
+                waiters.remove(waiter);
+            }
+        }
+        if (slot != null) {
+            release(slot);
+        }
+    }
+
+    // 예산에 여유가 있는 만큼 우선순위가 높은 대기자부터 허가를 준다. (락 안에서 호출)
+    private List<Waiter> grantAvailable() {
+        List<Waiter> granted = new ArrayList<>();
+        while (running < budget && !waiters.isEmpty()) {
+            Waiter next = waiters.poll();
+            next.slot = new Slot();
+            running++;
+            granted.add(next);
+        }
+        return granted;
+    }
+
+    private static final class Slot {
+        private final AtomicBoolean released = new AtomicBoolean();
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Slot> sink;
+        private final int urgency;
+        private final int tier;
+        private long sequence;  // 락 안에서 변경
+        private Slot slot;  // 허가되면 채워진다. (락 안에서 변경)
+        private boolean cancelled;  // 락 안에서 변경
+
+        private Waiter(MonoSink<Slot> sink, int urgency, int tier) {
+            this.sink = sink;
+            this.urgency = urgency;
+            this.tier = tier;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.sparta.notificationsystem.global.limiter;
+
+import com.sparta.notificationsystem.global.exception.AdmissionRejectedException;
+import com.sparta.notificationsystem.global.resilience.DependencyGuard;
+import com.sparta.notificationsystem.global.resilience.DependencyGuards;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 재입고 알림 요청(작업 시작)을 받을지 현재 부하를 보고 결정한다. (admission control)
+// 1. MySQL, 발송 채널의 circuit이 열려 있거나 최근 지연 시간이 기준을 넘으면 503 (Redis 장애는 DB로 대신하므로 받는다)
+// 2. 진행 중인 작업 수나 발송 예산을 기다리는 chunk 수가 기준을 넘으면 429
+// 거절은 작업을 시작하기 전에만 하고, 이미 받은 작업은 끝까지 처리한다. (진행 중인 작업을 보호)
+// 관리자 재전송(중단된 작업 이어서 보내기)은 진행 중인 작업 수에 여유분을 더 받는다. (자동 재개는 여유분을 쓰지 않는다)
+@Slf4j
+@Component
+public class RestockAdmissionControl {
+    private final DependencyGuards guards;
+    private final FanOutConcurrencyLimiters concurrencyLimiters;
+    private final PriorityFanOutScheduler fanOutScheduler;
+    private final MeterRegistry meterRegistry;
+    private final int maxActiveJobs;
+    private final int adminReservedJobs;
+    private final int maxWaitingChunks;
+    private final long maxMysqlLatencyMillis;
+    private final long maxRedisLatencyMillis;
+    private final Duration overloadedRetryAfter;
+    private final Duration unavailableRetryAfter;
+    private final AtomicInteger activeJobs = new AtomicInteger();
+
+    public RestockAdmissionControl(DependencyGuards guards,
+                                   FanOutConcurrencyLimiters concurrencyLimiters,
+                                   PriorityFanOutScheduler fanOutScheduler,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.admission.max-active-jobs:32}") int maxActiveJobs,
+                                   @Value("${notification.admission.admin-reserved-jobs:4}") int adminReservedJobs,
+                                   @Value("${notification.admission.max-waiting-chunks:2000}") int maxWaitingChunks,
+                                   @Value("${notification.admission.mysql.max-latency-ms:1000}") long maxMysqlLatencyMillis,
+                                   @Value("${notification.admission.redis.max-latency-ms:200}") long maxRedisLatencyMillis,
+                                   @Value("${notification.admission.overloaded-retry-after-seconds:5}") long overloadedRetryAfterSeconds,
+                                   @Value("${notification.admission.unavailable-retry-after-seconds:30}") long unavailableRetryAfterSeconds) {
+        this.guards = guards;
+        this.concurrencyLimiters = concurrencyLimiters;
+        this.fanOutScheduler = fanOutScheduler;
+        this.meterRegistry = meterRegistry;
+        this.maxActiveJobs = maxActiveJobs;
+        this.adminReservedJobs = adminReservedJobs;
+        this.maxWaitingChunks = maxWaitingChunks;
+        this.maxMysqlLatencyMillis = maxMysqlLatencyMillis;
+        this.maxRedisLatencyMillis = maxRedisLatencyMillis;
+        this.overloadedRetryAfter = Duration.ofSeconds(overloadedRetryAfterSeconds);
+        this.unavailableRetryAfter = Duration.ofSeconds(unavailableRetryAfterSeconds);
+        Gauge.builder("notification.admission.active-jobs", activeJobs, AtomicInteger::get)
+                .description("받아서 진행 중인 재입고 알림 작업 수")
+                .register(meterRegistry);
+    }
+
+    // 받을 수 있으면 job을 실행하고, 끝나면(성공, 실패, 취소) 자리를 반납한다.
+    public <T> Mono<T> admit(Priority priority, Mono<T> job) {
+        return Mono.defer(() -> {
+            AdmissionRejectedException rejection = tryAcquire(priority);
+            if (rejection != null) {
+                return Mono.error(rejection);
+            }
+            return job.doFinally(signal -> activeJobs.decrementAndGet());
+        });
+    }
+
+    // 지금 더 받을 수 있는 작업 수 (자동 재개처럼 가져올 작업 수를 미리 정하는 용도, 거절 상태이면 0)
+    public int availableSlots(Priority priority) {
+        int active = activeJobs.get();
+        if (reject(priority, active) != null) {
+            return 0;
+        }
+        return limitOf(priority) - active;
+    }
+
+    public int getActiveJobs() {
+        return activeJobs.get();
+    }
+
+    private AdmissionRejectedException tryAcquire(Priority priority) {
+        while (true) {
+            int active = activeJobs.get();
+            AdmissionRejectedException rejection = reject(priority, active);
+            if (rejection != null) {
+                count("rejected", reasonOf(rejection));
+                log.warn("재입고 알림 요청 거절: {} (진행 중인 작업 {}개, 대기 chunk {}개)", rejection.getMessage(), active, fanOutScheduler.getWaiting());
+                return rejection;
+            }
+            if (activeJobs.compareAndSet(active, active + 1)) {
+                count("accepted", "none");
+                return null;
+            }
+        }
+    }
+
+    private AdmissionRejectedException reject(Priority priority, int active) {
+        if (isOpen(guards.mysql()) || isOpen(guards.delivery())) {
+            return new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "알림 의존성 장애로 잠시 요청을 받을 수 없습니다.", unavailableRetryAfter);
+        }
+        if (concurrencyLimiters.mysql().getLatencyMillis() > maxMysqlLatencyMillis
+                || concurrencyLimiters.redis().getLatencyMillis() > maxRedisLatencyMillis) {
+            return new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "알림 의존성 응답이 느려 잠시 요청을 받을 수 없습니다.", unavailableRetryAfter);
+        }
+        if (active >= limitOf(priority) || fanOutScheduler.getWaiting() >= maxWaitingChunks) {
+            return new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "재입고 알림 요청이 많아 잠시 요청을 받을 수 없습니다.", overloadedRetryAfter);
+        }
+        return null;
+    }
+
+    private int limitOf(Priority priority) {
+        return priority == Priority.ADMIN ? maxActiveJobs + adminReservedJobs : maxActiveJobs;
+    }
+
+    private static boolean isOpen(DependencyGuard guard) {
+        return guard.state() == CircuitBreaker.State.OPEN || guard.state() == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private static String reasonOf(AdmissionRejectedException rejection) {
+        return rejection.getStatus() == HttpStatus.TOO_MANY_REQUESTS ? "overloaded" : "unavailable";
+    }
+
+    private void count(String result, String reason) {
+        Counter.builder("notification.admission")
+                .tag("result", result)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public enum Priority {
+        USER,   // 재입고 알림 시작
+        ADMIN,  // 중단된 알림 재전송 (관리자 요청)
+        SYSTEM  // 중단된 알림 자동 재개 (NotificationResumeSweeper)
+    }
+}
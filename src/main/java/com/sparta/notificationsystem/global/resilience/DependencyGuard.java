@@ -0,0 +1,57 @@
+package com.sparta.notificationsystem.global.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+// 의존성(MySQL, Redis, 발송 채널) 하나에 대한 bulkhead + circuit breaker
+// - bulkhead: 의존성 하나가 느려져도 그 의존성을 기다리는 스레드 수가 maxConcurrentCalls를 넘지 않는다. (넘으면 바로 거절)
+// - circuit breaker: 실패/지연이 쌓이면 호출하지 않고 바로 실패시켜서 degraded 경로로 넘어가게 한다.
+// 설정은 resilience4j.bulkhead.instances.{name}, resilience4j.circuitbreaker.instances.{name}으로 바꿀 수 있다.
+public class DependencyGuard {
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Duration timeout;
+
+    public DependencyGuard(CircuitBreaker circuitBreaker, Bulkhead bulkhead, Duration timeout) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.timeout = timeout;
+    }
+
+    // 이미 블로킹 스레드에서 실행 중인 동기 호출을 감싼다.
+    public <T> T execute(Supplier<T> supplier) {
+        return circuitBreaker.executeSupplier(Bulkhead.decorateSupplier(bulkhead, supplier));
+    }
+
+    // 블로킹 호출을 elastic 스레드에서 실행한다.
+    // bulkhead 허가는 호출이 실제로 끝날 때 반납되므로, timeout으로 기다림을 끊어도 묶여 있는 스레드 수는 제한된다.
+    public <T> Mono<T> call(Callable<T> callable) {
+        return Mono.fromCallable(() -> bulkhead.executeCallable(callable))
+                .subscribeOn(Schedulers.boundedElastic())
+                .timeout(timeout)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    // 논블로킹 호출(Mono)을 감싼다.
+    public <T> Mono<T> protect(Mono<T> mono) {
+        return mono.timeout(timeout)
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    public String name() {
+        return circuitBreaker.getName();
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+}
@@ -0,0 +1,46 @@
+package com.sparta.notificationsystem.global.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 알림 발송이 사용하는 의존성별 격리 설정 모음
+// 의존성마다 bulkhead와 circuit breaker를 따로 두어서 한 의존성의 장애가 다른 의존성을 쓰는 작업까지 막지 않게 한다.
+// (상태는 actuator의 circuitbreakers, bulkheads 엔드포인트와 resilience4j 메트릭으로 확인할 수 있다)
+@Component
+public class DependencyGuards {
+    private final DependencyGuard mysql;
+    private final DependencyGuard redis;
+    private final DependencyGuard delivery;
+
+    public DependencyGuards(CircuitBreakerRegistry circuitBreakerRegistry,
+                            BulkheadRegistry bulkheadRegistry,
+                            @Value("${notification.resilience.mysql.timeout-ms:2000}") long mysqlTimeoutMillis,
+                            @Value("${notification.resilience.redis.timeout-ms:500}") long redisTimeoutMillis,
+                            @Value("${notification.resilience.delivery.timeout-ms:5000}") long deliveryTimeoutMillis) {
+        this.mysql = guard(circuitBreakerRegistry, bulkheadRegistry, "mysql", mysqlTimeoutMillis);
+        this.redis = guard(circuitBreakerRegistry, bulkheadRegistry, "redis", redisTimeoutMillis);
+        this.delivery = guard(circuitBreakerRegistry, bulkheadRegistry, "delivery", deliveryTimeoutMillis);
+    }
+
+    public DependencyGuard mysql() {
+        return mysql;
+    }
+
+    public DependencyGuard redis() {
+        return redis;
+    }
+
+    public DependencyGuard delivery() {
+        return delivery;
+    }
+
+    private static DependencyGuard guard(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                         String name, long timeoutMillis) {
+        return new DependencyGuard(circuitBreakerRegistry.circuitBreaker(name), bulkheadRegistry.bulkhead(name),
+                Duration.ofMillis(timeoutMillis));
+    }
+}
@@ -0,0 +1,36 @@
+package com.sparta.notificationsystem.notification.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationArchiveController {
+    private final NotificationArchiveService notificationArchiveService;
+
+    // 회차별 알림 수신 유저 수 (아카이브 조회)
+    @GetMapping("/admin/products/{productId}/notifications/rounds/{restockRound}/archive")
+    public Mono<ResponseEntity<Long>> countNotifiedUsers(@PathVariable("productId") Long productId,
+                                                         @PathVariable("restockRound") Integer restockRound) {
+        return notificationArchiveService.countNotifiedUsers(productId, restockRound)
+                .subscribeOn(Schedulers.boundedElastic())  // 파일 매핑 작업을 비동기적으로 처리
+                .map(ResponseEntity::ok);
+    }
+
+    // 유저가 해당 회차에 알림을 받았는지 (아카이브 조회)
+    @GetMapping("/admin/products/{productId}/notifications/rounds/{restockRound}/archive/users/{userId}")
+    public Mono<ResponseEntity<Boolean>> isNotified(@PathVariable("productId") Long productId,
+                                                    @PathVariable("restockRound") Integer restockRound,
+                                                    @PathVariable("userId") Long userId) {
+        return notificationArchiveService.isNotified(productId, restockRound, userId)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+}
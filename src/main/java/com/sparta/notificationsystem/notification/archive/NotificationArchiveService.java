@@ -0,0 +1,154 @@
+package com.sparta.notificationsystem.notification.archive;
+
+import com.sparta.notificationsystem.notification.productusernotification.entity.ProductNotificationRoundSummary;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationRoundSummaryRepository;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductUserNotificationHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// 완료된 회차의 알림 수신 유저를 로컬 디스크의 회차별 압축 파일로 내보내고,
+// "상품 X의 N회차에 누가 알림을 받았는지" 조회를 라이브 히스토리 테이블 대신 아카이브에서 처리한다.
+// 조회할 때마다 파일을 다시 매핑하지 않도록 최근에 연 reader를 회차별로 reader-cache-size개까지 보관한다.
+// (매핑은 reader가 캐시에서 빠져 GC될 때 해제된다)
+@Slf4j
+@Service
+public class NotificationArchiveService {
+    private static final int SUMMARY_BATCH_SIZE = 20;
+
+    private final ProductUserNotificationHistoryRepository productUserNotificationHistoryRepository;
+    private final ProductNotificationRoundSummaryRepository productNotificationRoundSummaryRepository;
+    private final Path archiveDirectory;
+    private final int pageSize;
+    private final Map<RoundKey, RoundArchiveReader> readers;
+
+    public NotificationArchiveService(ProductUserNotificationHistoryRepository productUserNotificationHistoryRepository,
+                                      ProductNotificationRoundSummaryRepository productNotificationRoundSummaryRepository,
+                                      @Value("${notification.archive.directory:./notification-archive}") String archiveDirectory,
+                                      @Value("${notification.archive.page-size:5000}") int pageSize,
+                                      @Value("${notification.archive.reader-cache-size:64}") int readerCacheSize) {
+        this.productUserNotificationHistoryRepository = productUserNotificationHistoryRepository;
+        this.productNotificationRoundSummaryRepository = productNotificationRoundSummaryRepository;
+        this.archiveDirectory = Paths.get(archiveDirectory);
+        this.pageSize = pageSize;
+        this.readers = new LinkedHashMap<>(16, 0.75f, true) {   // 접근 순서 (가장 오래 쓰지 않은 reader부터 뺀다)
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RoundKey, RoundArchiveReader> eldest) {
+                return size() > readerCacheSize;
+            }
+        };
+    }
+
+    // 요약(완료)은 되었지만 아직 아카이브되지 않은 회차를 내보낸다.
+    @Scheduled(fixedDelayString = "${notification.archive.export-interval-ms:600000}")
+    public void exportCompletedRounds() {
+        List<ProductNotificationRoundSummary> summaries;
+        do {
+            summaries = productNotificationRoundSummaryRepository.findByArchivedAtIsNull(PageRequest.of(0, SUMMARY_BATCH_SIZE));
+            for (ProductNotificationRoundSummary summary : summaries) {
+                try {
+                    exportRound(summary.getProductId(), summary.getRestockRound());
+                    summary.markArchived();
+                    productNotificationRoundSummaryRepository.save(summary);
+                } catch (IOException e) {
+                    log.error("알림 아카이브 내보내기 실패: productId={}, restockRound={}", summary.getProductId(), summary.getRestockRound(), e);
+                    return;  // 디스크 문제일 가능성이 높으므로 다음 주기에 다시 시도
+                }
+            }
+        } while (summaries.size() == SUMMARY_BATCH_SIZE);
+    }
+
+    // 히스토리를 keyset 페이지로 읽으면서 바로 파일에 쓴다. (전체 목록을 메모리에 올리지 않는다)
+    // 임시 파일에 다 쓴 뒤 이름을 바꿔서, 조회하는 쪽은 항상 완성된 파일만 본다.
+    public Path exportRound(Long productId, Integer restockRound) throws IOException {
+        Path target = archivePath(productId, restockRound);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        long count = 0;
+        try (RoundArchiveWriter writer = new RoundArchiveWriter(temp, productId, restockRound)) {
+            long lastUserId = Long.MIN_VALUE;
+            List<Long> page;
+            do {
+                page = productUserNotificationHistoryRepository.findUserIdsAfter(
+                        productId, restockRound, lastUserId, PageRequest.of(0, pageSize));
+                for (Long userId : page) {
+                    writer.append(userId);
+                }
+                if (!page.isEmpty()) {
+                    lastUserId = page.get(page.size() - 1);
+                    count += page.size();
+                }
+            } while (page.size() == pageSize);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (readers) {
+            readers.remove(new RoundKey(productId, restockRound));  // 다시 내보낸 경우 이전 파일의 reader를 버린다.
+        }
+        log.info("알림 아카이브 생성: productId={}, restockRound={}, {}명", productId, restockRound, count);
+        return target;
+    }
+
+    // 회차의 알림 수신 유저 수
+    public Mono<Long> countNotifiedUsers(Long productId, Integer restockRound) {
+        return Mono.fromCallable(() -> openArchive(productId, restockRound).count());
+    }
+
+    // 유저가 해당 회차에 알림을 받았는지
+    public Mono<Boolean> isNotified(Long productId, Integer restockRound, Long userId) {
+        return Mono.fromCallable(() -> openArchive(productId, restockRound).contains(userId));
+    }
+
+    // 열려 있는 아카이브 reader 수
+    public int getOpenArchives() {
+        synchronized (readers) {
+            return readers.size();
+        }
+    }
+
+    // 캐시에 있으면 그대로 쓰고, 없으면 파일을 매핑해서 캐시에 넣는다. (매핑은 header만 읽으므로 락 안에서 해도 짧다)
+    private RoundArchiveReader openArchive(Long productId, Integer restockRound) {
+        RoundKey key = new RoundKey(productId, restockRound);
+        synchronized (readers) {
+            RoundArchiveReader reader = readers.get(key);
+            if (reader == null) {
+                reader = mapArchive(productId, restockRound);
+                readers.put(key, reader);
+            }
+            return reader;
+        }
+    }
+
+    private RoundArchiveReader mapArchive(Long productId, Integer restockRound) {
+        Path path = archivePath(productId, restockRound);
+        if (!Files.exists(path)) {
+            throw new NoSuchElementException("아카이브된 알림 회차가 없습니다.");
+        }
+        try {
+            return new RoundArchiveReader(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path archivePath(Long productId, Integer restockRound) {
+        return archiveDirectory.resolve(String.valueOf(productId)).resolve("round-" + restockRound + ".ntfa");
+    }
+
+    private record RoundKey(Long productId, Integer restockRound) {
+    }
+}
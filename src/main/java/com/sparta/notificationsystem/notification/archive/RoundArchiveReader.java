@@ -0,0 +1,128 @@
+package com.sparta.notificationsystem.notification.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.sparta.notificationsystem.notification.archive.RoundArchiveWriter.*;
+
+// RoundArchiveWriter로 만든 파일을 memory-mapped로 읽는다.
+// 파일 형식: [header][block...][block index][trailer]
+//  - header : magic, version, productId, restockRound
+//  - block  : deflate(varint(첫 userId), varint(차이값)...)
+//  - index  : 블록마다 firstUserId, lastUserId, offset, length, count
+//  - trailer: indexOffset, blockCount, totalCount, magic
+// 건수는 trailer에서 바로 읽고, 포함 여부는 인덱스를 이진 탐색해서 블록 하나만 푼다.
+public class RoundArchiveReader {
+    private final MappedByteBuffer buffer;
+    private final long productId;
+    private final int restockRound;
+    private final long totalCount;
+    private final int blockCount;
+    private final int indexOffset;
+
+    public RoundArchiveReader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지된다.
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE + TRAILER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("알림 아카이브 파일이 아닙니다: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("지원하지 않는 알림 아카이브 버전입니다: " + buffer.getInt(4));
+        }
+        this.productId = buffer.getLong(8);
+        this.restockRound = buffer.getInt(16);
+
+        int trailer = buffer.capacity() - TRAILER_SIZE;
+        if (buffer.getInt(trailer + 20) != MAGIC) {
+            throw new IOException("알림 아카이브 파일이 완전하지 않습니다: " + path);
+        }
+        this.indexOffset = (int) buffer.getLong(trailer);
+        this.blockCount = buffer.getInt(trailer + 8);
+        this.totalCount = buffer.getLong(trailer + 12);
+    }
+
+    public long productId() {
+        return productId;
+    }
+
+    public int restockRound() {
+        return restockRound;
+    }
+
+    public long count() {
+        return totalCount;
+    }
+
+    public boolean contains(long userId) {
+        int blockIndex = findBlock(userId);
+        if (blockIndex < 0) {
+            return false;
+        }
+        long[] userIds = readBlock(blockIndex);
+        return Arrays.binarySearch(userIds, userId) >= 0;
+    }
+
+    // userId가 [firstUserId, lastUserId] 범위에 들어가는 블록을 찾는다. 없으면 -1
+    private int findBlock(long userId) {
+        int low = 0;
+        int high = blockCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = indexOffset + mid * INDEX_ENTRY_SIZE;
+            if (userId < buffer.getLong(entry)) {
+                high = mid - 1;
+            } else if (userId > buffer.getLong(entry + 8)) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private long[] readBlock(int blockIndex) {
+        int entry = indexOffset + blockIndex * INDEX_ENTRY_SIZE;
+        int offset = (int) buffer.getLong(entry + 16);
+        int length = buffer.getInt(entry + 24);
+        int count = buffer.getInt(entry + 28);
+
+        ByteBuffer compressed = buffer.slice(offset, length);
+        byte[] encoded = new byte[count * 10];
+        Inflater inflater = new Inflater();
+        int encodedLength;
+        try {
+            inflater.setInput(compressed);
+            encodedLength = inflater.inflate(encoded);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("알림 아카이브 블록이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+
+        long[] userIds = new long[count];
+        int position = 0;
+        long previous = 0;
+        for (int i = 0; i < count && position < encodedLength; i++) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = encoded[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += value;
+            userIds[i] = previous;
+        }
+        return userIds;
+    }
+}
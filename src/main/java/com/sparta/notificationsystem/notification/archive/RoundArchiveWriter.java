@@ -0,0 +1,110 @@
+package com.sparta.notificationsystem.notification.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+// 한 회차의 알림 수신 유저 목록을 압축 파일로 쓴다.
+// userId는 오름차순으로만 추가할 수 있고, BLOCK_SIZE개씩 (첫 값 + 차이값) varint로 인코딩한 뒤 블록마다 deflate 한다.
+// 파일 끝의 블록 인덱스로 필요한 블록만 풀어서 조회할 수 있다. (형식은 RoundArchiveReader 참고)
+public class RoundArchiveWriter implements AutoCloseable {
+    static final int MAGIC = 0x4E544641;    // "NTFA"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4;   // magic, version, productId, restockRound
+    static final int INDEX_ENTRY_SIZE = 8 + 8 + 8 + 4 + 4;  // firstUserId, lastUserId, offset, length, count
+    static final int TRAILER_SIZE = 8 + 4 + 8 + 4;  // indexOffset, blockCount, totalCount, magic
+    static final int BLOCK_SIZE = 4096;
+
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final long[] block = new long[BLOCK_SIZE];
+    private final byte[] encoded = new byte[BLOCK_SIZE * 10];  // varint 최대 10바이트
+    private final byte[] compressed = new byte[BLOCK_SIZE * 10 + 64];
+    private final List<long[]> index = new ArrayList<>();   // {firstUserId, lastUserId, offset, length, count}
+
+    private int blockLength;
+    private long offset;
+    private long totalCount;
+    private long lastUserId = Long.MIN_VALUE;
+
+    public RoundArchiveWriter(Path path, Long productId, Integer restockRound) throws IOException {
+        OutputStream file = Files.newOutputStream(path);
+        this.out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(productId);
+        out.writeInt(restockRound);
+        offset = HEADER_SIZE;
+    }
+
+    public void append(long userId) throws IOException {
+        if (userId <= lastUserId) {
+            throw new IllegalArgumentException("userId는 오름차순이어야 합니다: " + userId);
+        }
+        lastUserId = userId;
+        block[blockLength++] = userId;
+        totalCount++;
+        if (blockLength == BLOCK_SIZE) {
+            flushBlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            long indexOffset = offset;
+            for (long[] entry : index) {
+                out.writeLong(entry[0]);
+                out.writeLong(entry[1]);
+                out.writeLong(entry[2]);
+                out.writeInt((int) entry[3]);
+                out.writeInt((int) entry[4]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(index.size());
+            out.writeLong(totalCount);
+            out.writeInt(MAGIC);
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockLength == 0) {
+            return;
+        }
+        int length = 0;
+        long previous = 0;
+        for (int i = 0; i < blockLength; i++) {
+            length = writeVarLong(block[i] - previous, length);
+            previous = block[i];
+        }
+
+        deflater.reset();
+        deflater.setInput(encoded, 0, length);
+        deflater.finish();
+        int compressedLength = deflater.deflate(compressed);
+        out.write(compressed, 0, compressedLength);
+
+        index.add(new long[]{block[0], block[blockLength - 1], offset, compressedLength, blockLength});
+        offset += compressedLength;
+        blockLength = 0;
+    }
+
+    private int writeVarLong(long value, int position) {
+        while ((value & ~0x7FL) != 0) {
+            encoded[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        encoded[position++] = (byte) value;
+        return position;
+    }
+}
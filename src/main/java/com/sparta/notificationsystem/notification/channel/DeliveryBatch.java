@@ -0,0 +1,16 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import java.util.List;
+
+// 한 번의 채널 호출로 보내는 알림 묶음 (같은 상품/회차/메시지)
+// digest 묶음은 여러 상품을 합친 메시지라서 productId, restockRound가 없다.
+public record DeliveryBatch(Long productId, Integer restockRound, String message, List<Long> userIds) {
+
+    public static DeliveryBatch digest(String message, List<Long> userIds) {
+        return new DeliveryBatch(null, null, message, userIds);
+    }
+
+    public DeliveryBatch withUserIds(List<Long> userIds) {
+        return new DeliveryBatch(productId, restockRound, message, userIds);
+    }
+}
@@ -0,0 +1,89 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 한 번의 채널 호출 결과 (batch의 유저 순서 기준)
+// 실패한 유저의 위치만 BitSet으로 들고 있어서, 모두 성공하거나 모두 실패한 호출(브로드캐스트 채널)은 유저 수와 상관없이 객체 하나로 끝난다.
+public final class DeliveryOutcome {
+    private final int size;
+    private final BitSet failed;
+
+    private DeliveryOutcome(int size, BitSet failed) {
+        this.size = size;
+        this.failed = failed;
+    }
+
+    public static DeliveryOutcome allDelivered(int size) {
+        return new DeliveryOutcome(size, new BitSet());
+    }
+
+    public static DeliveryOutcome allFailed(int size) {
+        BitSet failed = new BitSet(size);
+        failed.set(0, size);
+        return new DeliveryOutcome(size, failed);
+    }
+
+    // 제공자가 돌려준 유저별 결과를 batch 순서의 실패 위치로 바꾼다. 결과에 없는 유저는 실패로 본다.
+    public static DeliveryOutcome of(List<Long> userIds, List<DeliveryResult> results) {
+        BitSet failed = new BitSet(userIds.size());
+        if (inBatchOrder(userIds, results)) {
+            for (int i = 0; i < results.size(); i++) {
+                if (!results.get(i).isDelivered()) {
+                    failed.set(i);
+                }
+            }
+            return new DeliveryOutcome(userIds.size(), failed);
+        }
+        Set<Long> delivered = new HashSet<>();
+        for (DeliveryResult result : results) {
+            if (result.isDelivered()) {
+                delivered.add(result.userId());
+            }
+        }
+        for (int i = 0; i < userIds.size(); i++) {
+            if (!delivered.contains(userIds.get(i))) {
+                failed.set(i);
+            }
+        }
+        return new DeliveryOutcome(userIds.size(), failed);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int failedCount() {
+        return failed.cardinality();
+    }
+
+    public boolean isDelivered(int index) {
+        return !failed.get(index);
+    }
+
+    // 성공한 유저의 위치를 offset만큼 옮겨서 target에서 지운다. (연속으로 성공한 구간은 한 번에 지운다)
+    void clearDelivered(BitSet target, int offset) {
+        int from = 0;
+        while (from < size) {
+            int nextFailed = failed.nextSetBit(from);
+            int to = nextFailed < 0 ? size : nextFailed;
+            target.clear(offset + from, offset + to);
+            from = to + 1;
+        }
+    }
+
+    // 결과가 batch의 유저를 같은 순서로 하나씩 담고 있는지 (대부분의 bulk API는 요청 순서대로 돌려준다)
+    private static boolean inBatchOrder(List<Long> userIds, List<DeliveryResult> results) {
+        if (results.size() != userIds.size()) {
+            return false;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            if (!userIds.get(i).equals(results.get(i).userId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
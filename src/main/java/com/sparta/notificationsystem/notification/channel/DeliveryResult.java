@@ -0,0 +1,22 @@
+package com.sparta.notificationsystem.notification.channel;
+
+// 유저 한 명에 대한 채널 발송 결과
+public record DeliveryResult(Long userId, Outcome outcome, String reason) {
+
+    public enum Outcome {
+        DELIVERED,  // 발송 성공
+        FAILED      // 발송 실패 (reason에 사유)
+    }
+
+    public static DeliveryResult delivered(Long userId) {
+        return new DeliveryResult(userId, Outcome.DELIVERED, null);
+    }
+
+    public static DeliveryResult failed(Long userId, String reason) {
+        return new DeliveryResult(userId, Outcome.FAILED, reason);
+    }
+
+    public boolean isDelivered() {
+        return outcome == Outcome.DELIVERED;
+    }
+}
@@ -0,0 +1,39 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import reactor.core.publisher.Mono;
+
+// 외부 제공자의 bulk API를 호출하는 채널 (웹훅, 푸시, 이메일)
+// 채널마다 제공자의 한 요청당 최대 수신자 수와 동시 요청 수를 설정한다. (NotificationChannelConfig 참고)
+public class ExternalNotificationChannel implements NotificationChannel {
+    private final String name;
+    private final int maxBatchSize;
+    private final int maxConcurrency;
+    private final NotificationProvider provider;
+
+    public ExternalNotificationChannel(String name, int maxBatchSize, int maxConcurrency, NotificationProvider provider) {
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.maxConcurrency = maxConcurrency;
+        this.provider = provider;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public Mono<DeliveryOutcome> deliver(DeliveryBatch batch) {
+        return provider.sendBulk(name, batch).map(results -> DeliveryOutcome.of(batch.userIds(), results));
+    }
+}
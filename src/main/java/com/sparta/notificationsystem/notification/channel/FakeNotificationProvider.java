@@ -0,0 +1,56 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 로컬/테스트용 가짜 발송 제공자: 실제로 보내지 않고 요청마다 latency만큼 기다린 뒤 결과를 만든다.
+// failure-rate 비율만큼 유저별 실패를 섞어서 재시도/실패 처리를 확인할 수 있다.
+// 실제 제공자 대신 쓰이지 않도록 notification.channel.fake.enabled=true 일 때만 등록된다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.channel.fake.enabled", havingValue = "true")
+public class FakeNotificationProvider implements NotificationProvider {
+    private final Duration latency;
+    private final double failureRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong recipients = new AtomicLong();
+
+    public FakeNotificationProvider(@Value("${notification.channel.fake.latency-ms:0}") long latencyMillis,
+                                    @Value("${notification.channel.fake.failure-rate:0}") double failureRate) {
+        this.latency = Duration.ofMillis(latencyMillis);
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public Mono<List<DeliveryResult>> sendBulk(String channel, DeliveryBatch batch) {
+        Mono<List<DeliveryResult>> response = Mono.fromSupplier(() -> {
+            requests.incrementAndGet();
+            recipients.addAndGet(batch.userIds().size());
+            log.debug("[fake:{}] productId={}, restockRound={}, {}명 발송", channel, batch.productId(), batch.restockRound(), batch.userIds().size());
+            return batch.userIds().stream()
+                    .map(userId -> ThreadLocalRandom.current().nextDouble() < failureRate
+                            ? DeliveryResult.failed(userId, "가짜 제공자 실패")
+                            : DeliveryResult.delivered(userId))
+                    .toList();
+        });
+        return latency.isZero() ? response : Mono.delay(latency).then(response);
+    }
+
+    // 지금까지 받은 bulk 요청 수
+    public long getRequests() {
+        return requests.get();
+    }
+
+    // 지금까지 받은 수신자 수
+    public long getRecipients() {
+        return recipients.get();
+    }
+}
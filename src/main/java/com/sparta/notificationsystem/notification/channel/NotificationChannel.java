@@ -0,0 +1,26 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import reactor.core.publisher.Mono;
+
+// 알림 발송 채널 (SSE, 웹훅, 푸시, 이메일 등)
+// 채널은 유저 한 명씩이 아니라 묶음(batch)으로 발송하고, 실패한 유저의 위치를 DeliveryOutcome으로 돌려준다.
+// NotificationDispatcher가 maxBatchSize 크기로 나눠서 채널마다 최대 maxConcurrency개까지 동시에 호출한다.
+public interface NotificationChannel {
+
+    // 메트릭 태그와 로그에 사용하는 채널 이름
+    String name();
+
+    // 한 번의 호출로 보낼 수 있는 최대 유저 수 (외부 제공자의 bulk API 제한)
+    int maxBatchSize();
+
+    // 채널을 동시에 호출할 수 있는 최대 수 (모든 알림 작업이 함께 사용)
+    int maxConcurrency();
+
+    // 유저별 주소 없이 모두에게 한 번 내보내는 채널인지 (SSE). 브로드캐스트 채널은 digest로 모으지 않는다.
+    default boolean broadcast() {
+        return false;
+    }
+
+    // batch의 유저에게 발송하고 batch 순서 기준의 결과를 반환한다.
+    Mono<DeliveryOutcome> deliver(DeliveryBatch batch);
+}
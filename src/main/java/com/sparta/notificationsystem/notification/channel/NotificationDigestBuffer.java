@@ -0,0 +1,105 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// digest 모드: 유저별 채널(웹훅, 푸시, 이메일)로 보낼 알림을 유저마다 window 동안 모았다가 한 번에 보낸다.
+// 여러 상품이 한꺼번에 재입고되어도 유저는 window마다 알림 하나만 받는다. (첫 알림이 들어온 시각 + window에 발송)
+// 발송할 때 내용이 같은 유저끼리 묶어서 채널의 bulk 호출 수를 줄인다.
+// 메모리에만 보관하므로 인스턴스마다 따로 모으고, 종료 시에는 남은 알림을 모두 보낸다. (NotificationDigestFlushJob)
+@Component
+public class NotificationDigestBuffer {
+    private final boolean enabled;
+    private final long windowMillis;
+    private final Map<Long, UserDigest> pending = new ConcurrentHashMap<>();
+
+    public NotificationDigestBuffer(@Value("${notification.digest.enabled:false}") boolean enabled,
+                                    @Value("${notification.digest.window-ms:60000}") long windowMillis,
+                                    MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        Gauge.builder("notification.digest.pending-users", pending, Map::size)
+                .description("digest 발송을 기다리는 유저 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // batch의 유저마다 이번 상품/회차 알림을 모은다. (같은 상품/회차가 다시 들어오면 한 번만 보낸다)
+    public void add(DeliveryBatch batch) {
+        long dueAt = System.currentTimeMillis() + windowMillis;
+        DigestItem item = new DigestItem(batch.productId(), batch.restockRound(), batch.message());
+        for (Long userId : batch.userIds()) {
+            pending.compute(userId, (id, digest) -> {
+                UserDigest current = digest != null ? digest : new UserDigest(dueAt);
+                current.items.add(item);
+                return current;
+            });
+        }
+    }
+
+    // window가 지난 유저의 알림을 꺼내서 내용이 같은 유저끼리 묶는다.
+    public List<DeliveryBatch> drainDue(long nowMillis) {
+        return drain(digest -> digest.dueAt <= nowMillis);
+    }
+
+    public List<DeliveryBatch> drainAll() {
+        return drain(digest -> true);
+    }
+
+    public int getPendingUsers() {
+        return pending.size();
+    }
+
+    private List<DeliveryBatch> drain(Predicate<UserDigest> due) {
+        Map<String, List<Long>> byMessage = new LinkedHashMap<>();
+        pending.forEach((userId, digest) -> {
+            // 꺼내는 사이에 추가된 알림이 빠지지 않도록 같은 digest일 때만 제거한다.
+            if (due.test(digest) && pending.remove(userId, digest)) {
+                byMessage.computeIfAbsent(digest.render(), message -> new ArrayList<>()).add(userId);
+            }
+        });
+        List<DeliveryBatch> batches = new ArrayList<>(byMessage.size());
+        byMessage.forEach((message, userIds) -> batches.add(DeliveryBatch.digest(message, userIds)));
+        return batches;
+    }
+
+    private record DigestItem(Long productId, Integer restockRound, String message) {
+    }
+
+    // 유저 한 명의 모인 알림 (ConcurrentHashMap.compute 안에서만 변경한다)
+    private static final class UserDigest {
+        private final long dueAt;
+        private final Set<DigestItem> items = new LinkedHashSet<>();
+
+        private UserDigest(long dueAt) {
+            this.dueAt = dueAt;
+        }
+
+        // 알림이 하나면 원래 메시지, 여러 개면 상품 순서로 합친 메시지 (같은 상품 조합이면 같은 메시지가 되도록)
+        private String render() {
+            if (items.size() == 1) {
+                return items.iterator().next().message();
+            }
+            return "재입고 알림 " + items.size() + "건\n" + items.stream()
+                    .sorted(Comparator.comparing(DigestItem::productId))
+                    .map(DigestItem::message)
+                    .collect(Collectors.joining("\n"));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+// window가 지난 digest를 주기적으로 유저별 채널로 보낸다. 종료 시에는 남은 digest를 모두 보낸다.
+@Slf4j
+@Component
+public class NotificationDigestFlushJob {
+    private final NotificationDigestBuffer digestBuffer;
+    private final NotificationDispatcher notificationDispatcher;
+    private final int concurrency;
+    private final Duration shutdownTimeout;
+
+    public NotificationDigestFlushJob(NotificationDigestBuffer digestBuffer,
+                                      NotificationDispatcher notificationDispatcher,
+                                      @Value("${notification.digest.flush-concurrency:8}") int concurrency,
+                                      @Value("${notification.digest.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis) {
+        this.digestBuffer = digestBuffer;
+        this.notificationDispatcher = notificationDispatcher;
+        this.concurrency = concurrency;
+        this.shutdownTimeout = Duration.ofMillis(shutdownTimeoutMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval-ms:1000}")
+    public void flushDue() {
+        if (digestBuffer.isEnabled()) {
+            deliver(digestBuffer.drainDue(System.currentTimeMillis()), null);
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        if (digestBuffer.isEnabled()) {
+            deliver(digestBuffer.drainAll(), shutdownTimeout);
+        }
+    }
+
+    private void deliver(List<DeliveryBatch> batches, Duration timeout) {
+        if (batches.isEmpty()) {
+            return;
+        }
+        int users = batches.stream().mapToInt(batch -> batch.userIds().size()).sum();
+        log.info("digest 알림 발송: {}명, 묶음 {}개", users, batches.size());
+        Flux<Void> delivery = Flux.fromIterable(batches)
+                .flatMap(batch -> notificationDispatcher.dispatchDigest(batch)
+                        .onErrorResume(throwable -> {
+                            log.warn("digest 알림 발송 실패: {}명", batch.userIds().size(), throwable);
+                            return Mono.empty();
+                        }), concurrency);
+        if (timeout == null) {
+            delivery.blockLast();
+        } else {
+            delivery.blockLast(timeout);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import com.sparta.notificationsystem.global.common.LongArrayView;
+import com.sparta.notificationsystem.global.limiter.BoundedConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.BitSet;
+import java.util.List;
+
+// 알림 묶음을 등록된 모든 채널로 보낸다.
+// 채널마다 maxBatchSize 크기로 나눠서 bulk 호출하고, 채널의 maxConcurrency를 넘지 않도록 모든 알림 작업이 limiter를 함께 쓴다.
+// batch는 subList로 잘라서 넘기고(복사, 박싱 없음), 결과는 아직 어느 채널에서도 받지 못한 유저의 위치를 BitSet 하나로 모은다.
+// 채널/결과별 발송 수는 notification.delivery 메트릭으로 확인할 수 있다.
+// digest 모드에서는 유저별 채널로 보낼 알림을 NotificationDigestBuffer에 넣고(접수 = 발송 성공으로 보고 히스토리를 남긴다),
+// 브로드캐스트 채널(SSE)만 바로 보낸다. 모인 알림은 NotificationDigestFlushJob이 dispatchDigest로 보낸다.
+@Slf4j
+@Component
+public class NotificationDispatcher {
+    private final List<Route> routes;
+    private final NotificationDigestBuffer digestBuffer;
+
+    public NotificationDispatcher(List<NotificationChannel> channels, MeterRegistry meterRegistry, NotificationDigestBuffer digestBuffer) {
+        this.digestBuffer = digestBuffer;
+        this.routes = channels.stream()
+                .map(channel -> new Route(channel,
+                        // 채널이 정한 동시 호출 수로 고정 (notification.channel.concurrency.* 메트릭)
+                        new BoundedConcurrencyLimiter("notification.channel.concurrency", Tags.of("channel", channel.name()),
+                                channel.maxConcurrency(), meterRegistry),
+                        counter(meterRegistry, channel, DeliveryResult.Outcome.DELIVERED),
+                        counter(meterRegistry, channel, DeliveryResult.Outcome.FAILED)))
+                .toList();
+        log.info("알림 채널: {}", channels.stream().map(NotificationChannel::name).toList());
+    }
+
+    // batch를 모든 채널로 보내고, 한 채널이라도 발송에 성공한 유저를 batch 순서대로 반환한다.
+    // 구독할 때 발송을 시작한다. (digest 접수도 구독 전에는 하지 않는다: 재고 확인, 발송 예산, circuit breaker를 거친 뒤에만 접수)
+    public Mono<List<Long>> dispatch(DeliveryBatch batch) {
+        return Mono.defer(() -> dispatchNow(batch));
+    }
+
+    private Mono<List<Long>> dispatchNow(DeliveryBatch batch) {
+        if (digestBuffer.isEnabled() && routes.stream().anyMatch(route -> !route.channel().broadcast())) {
+            digestBuffer.add(batch);
+            return Flux.fromIterable(routes)
+                    .filter(route -> route.channel().broadcast())
+                    .flatMap(route -> deliver(route, batch))
+                    .then(Mono.just(batch.userIds()));
+        }
+        List<Long> userIds = batch.userIds();
+        BitSet undelivered = new BitSet(userIds.size());
+        undelivered.set(0, userIds.size());
+        return Flux.fromIterable(routes)
+                .flatMap(route -> deliver(route, batch))
+                .doOnNext(slice -> slice.outcome().clearDelivered(undelivered, slice.offset()))
+                .then(Mono.fromSupplier(() -> deliveredUsers(userIds, undelivered)));
+    }
+
+    // 모두 받았으면 batch의 목록을 그대로 돌려주고, 아니면 받은 유저만 순서대로 long[]에 담는다.
+    private static List<Long> deliveredUsers(List<Long> userIds, BitSet undelivered) {
+        if (undelivered.isEmpty()) {
+            return userIds;
+        }
+        long[] delivered = new long[userIds.size() - undelivered.cardinality()];
+        int count = 0;
+        for (int i = undelivered.nextClearBit(0); i < userIds.size(); i = undelivered.nextClearBit(i + 1)) {
+            delivered[count++] = userIds.get(i);
+        }
+        return LongArrayView.of(delivered);
+    }
+
+    // 모인 digest 묶음을 유저별 채널로 보낸다. (히스토리는 접수할 때 저장했으므로 결과는 notification.delivery 메트릭으로만 남는다)
+    public Mono<Void> dispatchDigest(DeliveryBatch batch) {
+        return Flux.fromIterable(routes)
+                .filter(route -> !route.channel().broadcast())
+                .flatMap(route -> deliver(route, batch))
+                .then();
+    }
+
+    // batch를 채널의 maxBatchSize 크기로 잘라서 보낸다. 한 번에 보낼 수 있으면(브로드캐스트 채널 등) 자르지 않는다.
+    private Flux<SliceOutcome> deliver(Route route, DeliveryBatch batch) {
+        NotificationChannel channel = route.channel();
+        int size = batch.userIds().size();
+        if (size == 0) {
+            return Flux.empty();
+        }
+        int sliceSize = Math.min(channel.maxBatchSize(), size);
+        return Flux.range(0, (size + sliceSize - 1) / sliceSize)
+                .flatMap(index -> {
+                    int offset = index * sliceSize;
+                    DeliveryBatch slice = sliceSize == size
+                            ? batch
+                            : batch.withUserIds(batch.userIds().subList(offset, Math.min(size, offset + sliceSize)));
+                    int sliceLength = slice.userIds().size();
+                    return route.limiter().execute(channel.deliver(slice))
+                            .onErrorResume(throwable -> {
+                                // 호출 자체가 실패하면 batch의 유저 모두 실패로 본다.
+                                log.warn("[{}] 알림 발송 실패: productId={}, {}명", channel.name(), batch.productId(), sliceLength, throwable);
+                                return Mono.just(DeliveryOutcome.allFailed(sliceLength));
+                            })
+                            .doOnNext(route::record)
+                            .map(outcome -> new SliceOutcome(offset, outcome));
+                });
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, NotificationChannel channel, DeliveryResult.Outcome outcome) {
+        return Counter.builder("notification.delivery")
+                .tag("channel", channel.name())
+                .tag("outcome", outcome.name().toLowerCase())
+                .description("채널별 알림 발송 결과 수")
+                .register(meterRegistry);
+    }
+
+    private record Route(NotificationChannel channel, BoundedConcurrencyLimiter limiter, Counter delivered, Counter failed) {
+        private void record(DeliveryOutcome outcome) {
+            int failedCount = outcome.failedCount();
+            delivered.increment(outcome.size() - failedCount);
+            failed.increment(failedCount);
+        }
+    }
+
+    // batch 안에서 offset부터 시작하는 조각의 발송 결과
+    private record SliceOutcome(int offset, DeliveryOutcome outcome) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// 외부 발송 제공자의 bulk API (웹훅, 푸시, 이메일 채널이 사용)
+public interface NotificationProvider {
+
+    // channel로 batch의 유저에게 한 번의 요청으로 발송하고 유저별 결과를 반환한다.
+    Mono<List<DeliveryResult>> sendBulk(String channel, DeliveryBatch batch);
+}
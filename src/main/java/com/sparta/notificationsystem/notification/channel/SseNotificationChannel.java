@@ -0,0 +1,82 @@
+package com.sparta.notificationsystem.notification.channel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// SSE 채널: 상품 전체에 대한 알림을 Sink로 한 번 내보낸다. (NotificationEventStore를 거쳐 SSE 구독자에게 전달)
+// SSE 스트림은 유저별 주소가 없는 브로드캐스트라서, 같은 상품/회차의 메시지는 첫 batch에서 한 번만 내보내고
+// batch의 유저는 모두 내보낸 결과(성공/실패)를 그대로 받는다. (유저별 결과를 만들지 않고 batch 전체에 대한 결과 하나를 돌려준다)
+// 내보낸 기록은 최근에 쓴 상품 dedup-size개만 남긴다. (오래된 상품의 기록이 지워져도 다음 회차는 새로 내보낸다)
+@Slf4j
+@Component
+public class SseNotificationChannel implements NotificationChannel {
+    private final Sinks.Many<String> sink;
+    private final int maxConcurrency;
+
+    private final Map<Long, Emitted> lastEmitted;   // 상품별로 마지막으로 내보낸 회차와 결과 (LRU, 락 안에서 변경)
+
+    public SseNotificationChannel(Sinks.Many<String> sink,
+                                  @Value("${notification.channel.sse.max-concurrency:64}") int maxConcurrency,
+                                  @Value("${notification.channel.sse.dedup-size:1024}") int dedupSize) {
+        this.sink = sink;
+        this.maxConcurrency = maxConcurrency;
+        this.lastEmitted = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Emitted> eldest) {
+                return size() > dedupSize;
+            }
+        };
+    }
+
+    // 내보낸 기록을 들고 있는 상품 수
+    public synchronized int getTrackedProducts() {
+        return lastEmitted.size();
+    }
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return Integer.MAX_VALUE;  // 브로드캐스트라서 나눌 필요가 없다.
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public boolean broadcast() {
+        return true;
+    }
+
+    @Override
+    public Mono<DeliveryOutcome> deliver(DeliveryBatch batch) {
+        return Mono.fromSupplier(() -> emitOnce(batch)
+                ? DeliveryOutcome.allDelivered(batch.userIds().size())
+                : DeliveryOutcome.allFailed(batch.userIds().size()));
+    }
+
+    private synchronized boolean emitOnce(DeliveryBatch batch) {
+        Emitted previous = lastEmitted.get(batch.productId());
+        if (previous != null && previous.restockRound().equals(batch.restockRound())) {
+            return previous.success();
+        }
+        boolean success = sink.tryEmitNext(batch.message()).isSuccess();
+        lastEmitted.put(batch.productId(), new Emitted(batch.restockRound(), success));
+        log.info("알림을 보냈습니다: " + batch.message());
+        return success;
+    }
+
+    private record Emitted(Integer restockRound, boolean success) {
+    }
+}
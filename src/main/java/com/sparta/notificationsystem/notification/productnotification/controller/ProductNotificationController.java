@@ -1,7 +1,8 @@
 package com.sparta.notificationsystem.notification.productnotification.controller;
 
+import com.sparta.notificationsystem.global.limiter.RestockAdmissionControl;
+import com.sparta.notificationsystem.global.limiter.RestockAdmissionControl.Priority;
 import com.sparta.notificationsystem.notification.productnotification.service.ProductNotificationService;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,20 +17,37 @@ import reactor.core.scheduler.Schedulers;
 @RequiredArgsConstructor
 public class ProductNotificationController {
     private final ProductNotificationService productNotificationService;
+    private final RestockAdmissionControl admissionControl;
+
+    // 재입고 알림 시작 요청은 현재 부하를 보고 받는다. (과부하 429, 의존성 장애 503 + Retry-After)
     @PostMapping("/products/{productId}/notifications/re-stock")
-    @RateLimiter(name = "default")
     public Mono<ResponseEntity<String>> postNotifications(@PathVariable("productId") Long productId) {
-        return productNotificationService.processRestockNotification(productId)
+        return admissionControl.admit(Priority.USER, productNotificationService.processRestockNotification(productId))
                 .subscribeOn(Schedulers.boundedElastic())  // JPA 블로킹 작업을 비동기적으로 처리
                 .map(success -> ResponseEntity.ok("재입고 알림이 성공적으로 전송되었습니다."));
     }
 
     @PostMapping("/admin/products/{productId}/notifications/re-stock")
-    @RateLimiter(name = "default")
     public Mono<ResponseEntity<String>> getNotificationManual(@PathVariable("productId") Long productId) {
-        return productNotificationService.processRestockNotificationManual(productId)
+        return admissionControl.admit(Priority.ADMIN, productNotificationService.processRestockNotificationManual(productId))
                 .subscribeOn(Schedulers.boundedElastic())  // JPA 블로킹 작업을 비동기적으로 처리
                 .map(success -> ResponseEntity.ok("재입고 알림이 성공적으로 전송되었습니다."));
     }
+
+    @PutMapping("/admin/products/{productId}/notifications/urgency")
+    public Mono<ResponseEntity<String>> changeNotificationUrgency(@PathVariable("productId") Long productId,
+                                                                  @RequestParam("urgency") int urgency) {
+        return productNotificationService.changeNotificationUrgency(productId, urgency)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(success -> ResponseEntity.ok("재입고 알림 긴급도가 변경되었습니다."));
+    }
+
+    @PutMapping("/admin/products/{productId}/notifications/restock-expected")
+    public Mono<ResponseEntity<String>> changeRestockExpected(@PathVariable("productId") Long productId,
+                                                              @RequestParam("expected") boolean expected) {
+        return productNotificationService.changeRestockExpected(productId, expected)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(success -> ResponseEntity.ok("재입고 예정 상태가 변경되었습니다."));
+    }
 }
 
@@ -6,7 +6,15 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
+// (status, nextResumeAt) 인덱스: 자동 재개 대상(CANCELED_BY_ERROR) 조회용
+// productId 인덱스: 상품의 마지막 히스토리 조회용 (InnoDB 보조 인덱스에는 id가 포함된다)
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_product_notification_history_status_next_resume", columnList = "status, nextResumeAt"),
+        @Index(name = "idx_product_notification_history_product", columnList = "productId")
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,8 +26,13 @@ public class ProductNotificationHistory {
     private Long productId;
     private Integer restockRound;   // 이번 알림의 재입고 회차
     private Long lastUserId;    // 마지막 발송 유저 아이디 저장
+    private Integer lastTier;   // 마지막 발송 유저의 구독자 등급 (등급이 높은 순서로 발송하므로 (lastTier, lastUserId)가 checkpoint)
     @Enumerated(EnumType.STRING)
     private Status status;
+    private int resumeAttempts; // 자동 재개 시도 횟수
+    private LocalDateTime nextResumeAt; // 이 시각 이후에 자동 재개한다. (null이면 바로)
+    private String claimedBy;   // 자동 재개를 맡은 인스턴스의 claim 토큰
+    private LocalDateTime claimedUntil; // claim 만료 시각 (지나면 다른 인스턴스가 가져갈 수 있다)
 
     public enum Status {
         IN_PROGRESS("발송 중"),
@@ -55,6 +68,22 @@ public class ProductNotificationHistory {
         this.lastUserId = lastUserId;
     }
 
+    public void setCheckpoint(Integer lastTier, Long lastUserId) {
+        this.lastTier = lastTier;
+        this.lastUserId = lastUserId;
+    }
+
+    // 자동 재개 실패 시 다음 재개 시각 (backoff)
+    public void scheduleNextResume(LocalDateTime nextResumeAt) {
+        this.nextResumeAt = nextResumeAt;
+    }
+
+    // 같은 회차의 오류 히스토리를 새로 만들 때 재개 횟수와 다음 재개 시각을 이어받는다. (재시도 상한을 우회하지 않도록)
+    public void inheritResumeState(ProductNotificationHistory previous) {
+        this.resumeAttempts = previous.resumeAttempts;
+        this.nextResumeAt = previous.nextResumeAt;
+    }
+
     // status 상태를 변경하는 메서드들
     public void markInProgress() {
         this.status = Status.IN_PROGRESS;
@@ -2,11 +2,21 @@ package com.sparta.notificationsystem.notification.productnotification.repositor
 
 import com.sparta.notificationsystem.notification.productusernotification.entity.ProductUserNotification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductUserNotificationRepository extends JpaRepository<ProductUserNotification, Long> {
     List<ProductUserNotification> findByProductId(Long productId);
 
     List<ProductUserNotification> findByProductIdAndUserIdGreaterThan(Long productId, Long lastUserId);
+
+    List<ProductUserNotification> findByProductIdAndUserIdIn(Long productId, Collection<Long> userIds);
+
+    @Modifying
+    @Query("delete from ProductUserNotification p where p.productId = :productId and p.userId in :userIds")
+    int deleteByProductIdAndUserIdIn(@Param("productId") Long productId, @Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,176 @@
+package com.sparta.notificationsystem.notification.productnotification.service;
+
+import com.sparta.notificationsystem.global.exception.AdmissionRejectedException;
+import com.sparta.notificationsystem.global.limiter.RestockAdmissionControl;
+import com.sparta.notificationsystem.global.limiter.RestockAdmissionControl.Priority;
+import com.sparta.notificationsystem.notification.productnotification.entity.ProductNotificationHistory;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 의존성 장애로 멈춘(CANCELED_BY_ERROR) 재입고 알림을 주기적으로 checkpoint부터 자동 재개한다.
+// 1. (status, nextResumeAt) 인덱스로 재개할 때가 된 상품별 마지막 히스토리를 batch 크기만큼 찾는다.
+// 2. 한 번의 UPDATE로 claim 한다. (claimedBy, nextResumeAt을 lease 끝으로) 여러 인스턴스가 같은 알림을 동시에 재개하지 않는다.
+// 3. 다음 재개 시각을 지수 backoff로 미리 정해 두고 재개한다. 실패하면 그 시각 이후에 다시 시도하고, 상한에 도달하면 수동 재전송을 기다린다.
+//    재개가 끝나면 claim을 푼다. 재개 가능 여부는 nextResumeAt 만으로 정하므로 backoff가 lease보다 짧아도 그대로 지켜진다.
+// 재개 중에는 히스토리가 IN_PROGRESS 이므로 다시 잡히지 않는다.
+// 재개도 admission control을 거친다. (관리자 재전송용 여유분은 쓰지 않는다)
+// admission에 남은 자리만큼만 claim 하고, 그 사이 자리가 차서 거절되면 claim을 풀고 시도 횟수를 되돌린다. (시도 횟수를 쓰지 않는다)
+// 재개는 스케줄러 스레드를 잡지 않고 비동기로 실행한다. 동시에 재개하는 알림은 concurrency개까지이고, 빈 자리만큼만 claim 한다.
+@Slf4j
+@Component
+public class NotificationResumeSweeper {
+    private final ProductNotificationHistoryRepository productNotificationHistoryRepository;
+    private final ProductNotificationService productNotificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final RestockAdmissionControl admissionControl;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimLease;
+    private final AtomicInteger resuming = new AtomicInteger();   // 재개 중인 알림 수
+
+    public NotificationResumeSweeper(ProductNotificationHistoryRepository productNotificationHistoryRepository,
+                                     ProductNotificationService productNotificationService,
+                                     TransactionTemplate transactionTemplate,
+                                     RestockAdmissionControl admissionControl,
+                                     @Value("${notification.resume.enabled:true}") boolean enabled,
+                                     @Value("${notification.resume.batch-size:50}") int batchSize,
+                                     @Value("${notification.resume.concurrency:4}") int concurrency,
+                                     @Value("${notification.resume.max-attempts:5}") int maxAttempts,
+                                     @Value("${notification.resume.initial-backoff-ms:60000}") long initialBackoffMs,
+                                     @Value("${notification.resume.max-backoff-ms:3600000}") long maxBackoffMs,
+                                     @Value("${notification.resume.claim-lease-ms:600000}") long claimLeaseMs) {
+        this.productNotificationHistoryRepository = productNotificationHistoryRepository;
+        this.productNotificationService = productNotificationService;
+        this.transactionTemplate = transactionTemplate;
+        this.admissionControl = admissionControl;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.claimLease = Duration.ofMillis(claimLeaseMs);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.resume.sweep-interval-ms:30000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        int free = Math.min(Math.min(batchSize, concurrency - resuming.get()), admissionControl.availableSlots(Priority.SYSTEM));
+        if (free <= 0) {
+            return;
+        }
+        ClaimedBatch claimed;
+        try {
+            claimed = claimBatch(free);
+        } catch (RuntimeException e) {
+            log.warn("자동 재개 대상 claim 실패, 다음 주기에 다시 시도합니다.", e);
+            return;
+        }
+        if (claimed.histories().isEmpty()) {
+            return;
+        }
+        log.info("중단된 재입고 알림 자동 재개: {}건", claimed.histories().size());
+        resuming.addAndGet(claimed.histories().size());
+        Flux.fromIterable(claimed.histories())
+                .flatMap(history -> admissionControl.admit(Priority.SYSTEM, productNotificationService.processRestockNotificationManual(history.getProductId()))
+                        .doOnNext(success -> log.info("재입고 알림 자동 재개 완료: productId={}, restockRound={}",
+                                history.getProductId(), history.getRestockRound()))
+                        .doOnNext(success -> clearClaim(history, claimed.owner()))
+                        .onErrorResume(throwable -> {
+                            if (throwable instanceof AdmissionRejectedException) {
+                                releaseClaim(history, claimed.owner());
+                            } else {
+                                clearClaim(history, claimed.owner());
+                                logFailure(history, throwable);
+                            }
+                            return Mono.<Boolean>empty();
+                        })
+                        .doFinally(signal -> resuming.decrementAndGet()))
+                .subscribe();
+    }
+
+    // 재개 중인 알림 수
+    public int getResuming() {
+        return resuming.get();
+    }
+
+    // 재개할 후보를 limit개까지 찾아서 claim 하고, claim에 성공한 히스토리에 다음 재개 시각을 정해 둔다.
+    ClaimedBatch claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidates = productNotificationHistoryRepository.findResumableIds(
+                ProductNotificationHistory.Status.CANCELED_BY_ERROR, maxAttempts, now, PageRequest.of(0, limit));
+        if (candidates.isEmpty()) {
+            return new ClaimedBatch(null, List.of());
+        }
+        String owner = UUID.randomUUID().toString();   // 이번 sweep의 claim 토큰
+        List<ProductNotificationHistory> claimed = transactionTemplate.execute(status -> {
+            productNotificationHistoryRepository.claimForResume(candidates, ProductNotificationHistory.Status.CANCELED_BY_ERROR,
+                    owner, now.plus(claimLease), now);
+            return productNotificationHistoryRepository.findByIdInAndClaimedBy(candidates, owner);
+        });
+        claimed.forEach(history -> history.scheduleNextResume(now.plus(backoff(history.getResumeAttempts()))));
+        transactionTemplate.executeWithoutResult(status -> productNotificationHistoryRepository.saveAll(claimed));
+        return new ClaimedBatch(owner, claimed);
+    }
+
+    // 재개를 시작하지 못했으므로 claim을 풀고 시도 횟수를 되돌린다. (실패해도 lease가 끝나면 다시 잡힌다)
+    private void releaseClaim(ProductNotificationHistory history, String owner) {
+        log.info("admission control로 자동 재개를 다음 주기로 미룹니다: productId={}, restockRound={}",
+                history.getProductId(), history.getRestockRound());
+        try {
+            transactionTemplate.executeWithoutResult(status -> productNotificationHistoryRepository.releaseClaim(
+                    history.getId(), owner, ProductNotificationHistory.Status.CANCELED_BY_ERROR));
+        } catch (RuntimeException e) {
+            log.warn("자동 재개 claim 해제 실패: productId={}", history.getProductId(), e);
+        }
+    }
+
+    // 재개가 끝난 claim을 푼다. (실패해도 nextResumeAt이 지나면 다시 잡힌다)
+    private void clearClaim(ProductNotificationHistory history, String owner) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> productNotificationHistoryRepository.clearClaim(history.getId(), owner));
+        } catch (RuntimeException e) {
+            log.warn("자동 재개 claim 정리 실패: productId={}", history.getProductId(), e);
+        }
+    }
+
+    // attempt번째 시도가 실패했을 때 다음 시도까지 기다리는 시간 (initialBackoff * 2^(attempt-1), 최대 maxBackoff)
+    Duration backoff(int attempt) {
+        int exponent = Math.min(Math.max(attempt - 1, 0), 30);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void logFailure(ProductNotificationHistory history, Throwable throwable) {
+        if (history.getResumeAttempts() >= maxAttempts) {
+            log.error("재입고 알림 자동 재개 한도 도달, 수동 재전송이 필요합니다: productId={}, restockRound={}, 시도 {}회",
+                    history.getProductId(), history.getRestockRound(), history.getResumeAttempts(), throwable);
+        } else {
+            log.warn("재입고 알림 자동 재개 실패: productId={}, restockRound={}, 시도 {}회, 다음 시도 {}",
+                    history.getProductId(), history.getRestockRound(), history.getResumeAttempts(), history.getNextResumeAt(), throwable);
+        }
+    }
+
+    // 이번 sweep의 claim 토큰과 claim에 성공한 히스토리
+    record ClaimedBatch(String owner, List<ProductNotificationHistory> histories) {
+    }
+}
@@ -1,40 +1,66 @@
 package com.sparta.notificationsystem.notification.productnotification.service;
 
+import com.sparta.notificationsystem.global.common.LongArrayView;
+import com.sparta.notificationsystem.global.exception.NotificationPausedException;
+import com.sparta.notificationsystem.global.exception.NotificationSoldOutException;
+import com.sparta.notificationsystem.global.limiter.FanOutConcurrencyLimiters;
+import com.sparta.notificationsystem.global.limiter.PriorityFanOutScheduler;
+import com.sparta.notificationsystem.global.resilience.DependencyGuards;
+import com.sparta.notificationsystem.notification.channel.DeliveryBatch;
+import com.sparta.notificationsystem.notification.channel.NotificationDispatcher;
 import com.sparta.notificationsystem.notification.productnotification.entity.ProductNotificationHistory;
-import com.sparta.notificationsystem.notification.productnotification.repository.ProductUserNotificationRepository;
-import com.sparta.notificationsystem.notification.productusernotification.entity.ProductUserNotification;
 import com.sparta.notificationsystem.notification.productusernotification.entity.ProductUserNotificationHistory;
 import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationHistoryRepository;
 import com.sparta.notificationsystem.notification.productusernotification.repository.ProductUserNotificationHistoryRepository;
+import com.sparta.notificationsystem.notification.productusernotification.service.NotifiedUserStore;
+import com.sparta.notificationsystem.notification.productusernotification.service.NotifiedUserStore.NotifiedUsers;
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex;
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex.TierSlice;
 import com.sparta.notificationsystem.product.entity.Product;
+import com.sparta.notificationsystem.product.service.ProductCache;
 import com.sparta.notificationsystem.product.repository.ProductRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ProductNotificationService {
-    private final Sinks.Many<String> sink;
-    private final Flux<String> restockNotificationStream;
     private final ProductRepository productRepository;
-    private final ProductUserNotificationRepository productUserNotificationRepository;
     private final ProductUserNotificationHistoryRepository productUserNotificationHistoryRepository;
     private final ProductNotificationHistoryRepository productNotificationHistoryRepository;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ProductSubscriberIndex productSubscriberIndex;
+    private final NotifiedUserStore notifiedUserStore;
+    private final FanOutConcurrencyLimiters concurrencyLimiters;
+    private final PriorityFanOutScheduler fanOutScheduler;
+    private final NotificationDispatcher notificationDispatcher;
+    private final DependencyGuards guards;
+    private final ProductCache productCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.fanout.chunk-size:500}")
+    private int chunkSize = 500;    // 한 번에 재고 확인/저장하는 유저 수
+
+    @Value("${notification.fanout.max-concurrency:32}")
+    private int maxConcurrency = 32;    // 동시에 처리하는 chunk 수의 상한 (실제 동시 실행 수는 limiter가 조절)
 
     // 알림 프로세스
-    @Transactional
+    // Mono는 나중에 다른 스레드에서 실행되므로 @Transactional로는 트랜잭션이 묶이지 않는다.
+    // 회차 시작과 chunk 저장은 TransactionTemplate으로 필요한 범위만 트랜잭션을 건다.
     public Mono<Boolean> processRestockNotification(Long productId) {
         return fetchProductAndStock(productId)        // 1. Product 및 stock 상태 확인
                 .flatMap(this::notifyUsersAndHandleStock)  // 2. 알림 전송 및 재고 상태 처리
@@ -43,29 +69,50 @@ public class ProductNotificationService {
     }
 
     // 수동 알림 프로세스
-    @Transactional
     public Mono<Boolean> processRestockNotificationManual(Long productId) {
         return fetchProductAndStock(productId)
                 .flatMap(product -> {
                     // 이전 알림 목록 확인
-                    ProductNotificationHistory lastNotificationHistory = getLastNotificationHistory();
+                    ProductNotificationHistory lastNotificationHistory = getLastNotificationHistory(productId);
 
                     // 취소된 알림이 있는지 확인하고 없으면 예외 발생
                     if (lastNotificationHistory == null || !isLastNotificationFailed(lastNotificationHistory)) {
                         return Mono.error(new NoSuchElementException("에러나 품절로 인해 취소된 알림이 없습니다."));
                     }
 
-                    // 취소된 알림이 있으면, 취소된 알림 이후의 유저에게만 알림 전송
-                    List<Long> notificationUserIds = getRemainingNotificationsFromCacheOrDB(productId, lastNotificationHistory.getLastUserId());
+                    // 취소된 알림이 있으면, 취소된 알림의 checkpoint 이후의 유저에게만 알림 전송
+                    List<TierSlice> subscribers = getRemainingNotificationsFromCacheOrDB(productId, lastNotificationHistory);
 
-                    return sendNotificationAndSaveHistory(product, notificationUserIds);
+                    return resumeNotificationAndSaveHistory(product, lastNotificationHistory, subscribers);
                 })
                 .subscribeOn(Schedulers.boundedElastic())
                 .onErrorResume(throwable -> handleProcessError(productId, throwable));
     }
 
+    // 상품의 재입고 알림 긴급도 변경 (긴급도가 높은 상품의 chunk가 전체 발송 예산을 먼저 받는다)
+    // 컬럼 하나만 UPDATE 하고 캐시는 지운다. (읽고 저장하면 그 사이에 증가한 재입고 회차를 덮어쓸 수 있다)
+    public Mono<Boolean> changeNotificationUrgency(Long productId, int urgency) {
+        return Mono.fromCallable(() -> updateProduct(productId, () -> productRepository.updateNotificationUrgency(productId, urgency)));
+    }
+
+    // 재입고 예정 표시 변경 (표시된 상품은 warm-up 작업이 상품 캐시와 구독자 인덱스를 미리 적재한다)
+    public Mono<Boolean> changeRestockExpected(Long productId, boolean restockExpected) {
+        return Mono.fromCallable(() -> updateProduct(productId, () -> productRepository.updateRestockExpected(productId, restockExpected)));
+    }
+
+    // 상품 컬럼을 UPDATE 하고, 커밋 후 캐시를 지운다. 바뀐 행이 없으면 상품이 없는 것이다.
+    private boolean updateProduct(Long productId, Supplier<Integer> update) {
+        Integer updated = guards.mysql().execute(() -> transactionTemplate.execute(status -> update.get()));
+        if (updated == null || updated == 0) {
+            throw new NoSuchElementException("상품을 찾을 수 없습니다.");
+        }
+        productCache.evict(productId);
+        return true;
+    }
+
     // [Product와 Stock의 상태를 확인하는 프로세스]
     // redis에 있으면 redis에서, 없으면 DB에서 가져온다.
+    // Redis가 느리거나 장애이면(circuit open, bulkhead 초과 포함) 캐시를 건너뛰고 DB 값을 사용한다. (degraded)
     private Mono<Product> fetchProductAndStock(Long productId) {
         return Mono.fromCallable(() -> {
             Product product = getProductFromCacheOrDB(productId);  // Product 가져오기
@@ -75,10 +122,10 @@ public class ProductNotificationService {
     }
 
     // 1. Product 확인해서 cache 혹은 DB에서 가져오고 없으면 에러
+    //    캐시가 없을 때 동시에 들어온 요청은 한 번만 DB에서 읽는다. (ProductCache 참고)
     private Product getProductFromCacheOrDB(Long productId) {
-        return redisTemplate.opsForValue().get("product:" + productId) != null
-                ? (Product) redisTemplate.opsForValue().get("product:" + productId)
-                : productRepository.findById(productId).orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다."));
+        return productCache.get(productId)
+                .orElseThrow(() -> new NoSuchElementException("상품을 찾을 수 없습니다."));
     }
 
     // 2. 재고 없으면 에러
@@ -90,100 +137,143 @@ public class ProductNotificationService {
 
     // 3. redis에서 저장된 재고 수량을 가져옴
     private Integer getStockFromCacheOrProduct(Product product) {
-        Integer stock = (Integer) redisTemplate.opsForValue().get("productStock:" + product.getId());
-
-        if (stock == null) {
-            // 캐시에 재고가 없으면 DB에서 조회하고 Redis에 저장
-            stock = product.getStock();
-            redisTemplate.opsForValue().set("productStock:" + product.getId(), stock);
+        try {
+            return guards.redis().execute(() -> {
+                Integer stock = (Integer) redisTemplate.opsForValue().get("productStock:" + product.getId());
+
+                if (stock == null) {
+                    // 캐시에 재고가 없으면 DB에서 조회하고 Redis에 저장
+                    stock = product.getStock();
+                    redisTemplate.opsForValue().set("productStock:" + product.getId(), stock);
+                }
+
+                return stock;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Redis 재고 조회 실패, DB 재고를 사용합니다: productId={}", product.getId(), e);
+            return guards.mysql().execute(() -> getStockFromDB(product.getId()));
         }
+    }
 
-        return stock;
+    // 4. DB의 재고 (Redis를 쓸 수 없을 때 사용)
+    private Integer getStockFromDB(Long productId) {
+        return productRepository.findById(productId)
+                .map(Product::getStock)
+                .orElse(0);
     }
 
 
     // [상품 재입고 알림 전송, 회차 증가, 저장 프로세스]
     private Mono<Boolean> notifyUsersAndHandleStock(Product product) {
-        List<Long> notificationUserIds = getNotificationsFromCacheOrDB(product.getId());  // 알림 받을 유저 목록 조회
-        incrementRestockRound(product);  // 재입고 회차 증가
-        ProductNotificationHistory notificationHistory = createInProgressNotificationHistory(product);
-        // 2. 생성된 알림 히스토리 저장
-        saveNotificationHistory(notificationHistory);
+        List<TierSlice> subscribers = getNotificationsFromCacheOrDB(product.getId());  // 알림 받을 유저 목록 조회 (등급별)
+        // 2. 재입고 회차 증가와 알림 히스토리 생성을 한 트랜잭션으로 저장
+        ProductNotificationHistory notificationHistory = startRestockRound(product);
         // 3. 알림 전송
-        return sendNotificationToUsers(new NotificationContext(product, notificationUserIds, notificationHistory));  // 알림 전송
+        NotifiedUsers notifiedUsers = loadNotifiedUsers(product.getId(), notificationHistory.getRestockRound());
+        return sendNotificationToUsers(new NotificationContext(product, subscribers, notificationHistory, notifiedUsers));  // 알림 전송
     }
     // 1. 알림 받을 유저 목록 조회
-    private List<Long> getNotificationsFromCacheOrDB(Long productId) {
-        String cacheKey = "productNotificationUserIds:" + productId;
-        String userIdsStr = (String) redisTemplate.opsForValue().get(cacheKey);
-        List<Long> userIds = (userIdsStr != null)
-                ? parseUserIds(userIdsStr)
-                : fetchAndCacheUserIdsFromDB(productId, cacheKey);
-        validateNotificationUserIdsExist(userIds);
-        return userIds;
-    }
-
-    // 2. 재입고 회차를 증가시키는 메서드
-    private void incrementRestockRound(Product product) {
-        product.incrementRestockRound();    // 1회 증가
-        productRepository.save(product);
-        updateCache("product:" + product.getId(), product); // Redis에 업데이트
+    private List<TierSlice> getNotificationsFromCacheOrDB(Long productId) {
+        List<TierSlice> subscribers = guards.redis().execute(() -> productSubscriberIndex.getSubscribers(productId));
+        validateNotificationUserIdsExist(subscribers);
+        return subscribers;
+    }
+
+    // 2. 재입고 회차를 증가시키고 IN_PROGRESS 알림 히스토리를 만든다. (둘 중 하나만 저장되지 않도록 한 트랜잭션)
+    //    회차는 UPDATE ... SET total_restock_round = total_restock_round + 1 로 올리고 같은 트랜잭션에서 다시 읽는다.
+    //    같은 상품에 재입고 알림이 동시에 들어와도 각자 다른 회차를 받는다.
+    private ProductNotificationHistory startRestockRound(Product product) {
+        ProductNotificationHistory notificationHistory = guards.mysql().execute(() -> transactionTemplate.execute(status -> {
+            productRepository.incrementRestockRound(product.getId());
+            Integer restockRound = productRepository.findTotalRestockRoundById(product.getId());
+            if (restockRound == null) {
+                throw new NoSuchElementException("상품을 찾을 수 없습니다.");
+            }
+            ProductNotificationHistory created = createInProgressNotificationHistory(product, restockRound);
+            productNotificationHistoryRepository.save(created);   // 새 엔티티는 persist 되어 같은 객체에 id가 채워진다.
+            return created;
+        }));
+        productCache.evict(product.getId()); // 커밋 후 캐시된 상품(이전 회차)을 지운다.
+        return notificationHistory;
     }
 
     // 3. productNotificationHistoryRepository에 저장 메서드
     private void saveNotificationHistory(ProductNotificationHistory notificationHistory) {
-        productNotificationHistoryRepository.save(notificationHistory);
+        guards.mysql().execute(() -> productNotificationHistoryRepository.save(notificationHistory));
     }
 
     // [알림 전송 프로세스]
     private Mono<Boolean> sendNotificationToUsers(NotificationContext context) {
-        sendInitialNotification(context);
         return notifyUsers(context)
                 .last()  // 마지막 유저 처리 후
-                .flatMap(lastUserId -> markNotificationCompleted(context, lastUserId))  // 마지막 유저 ID 전달
-                .thenReturn(true);
-    }
-    // 1. 알림 보내는 문장
-    private void sendInitialNotification(NotificationContext context) {
-        sendNotification("재입고 알림 - 상품명 [" + context.product().getName() + "]");
-    }
-
-    // 2. 알림 보내는 메서드
-    private void sendNotification(String message) {
-        sink.tryEmitNext(message);
-        log.info("알림을 보냈습니다: " + message);
-    }
-
-    // 3. 유저에게 개별 알림 처리
-    private Flux<Long> notifyUsers(NotificationContext context) {
-        return Flux.fromIterable(context.userIds())
-                .concatMap(userId -> getStockAndNotifyUser(context, userId)
-                        .flatMap(unused -> saveUserNotificationHistory(context, userId))  // JPA 저장이 완료될 때까지 기다림
-                        .thenReturn(userId)  // 유저 ID 반환
-                );
-    }
-
-
-    // 4. 알림 완료 상태 갱신 및 저장
-    private Mono<Void> markNotificationCompleted(NotificationContext context, Long lastUserId) {
+                .flatMap(lastChunk -> markNotificationCompleted(context, lastChunk))  // 마지막 chunk 전달
+                .thenReturn(true)
+                .onErrorResume(throwable -> pauseWithCheckpoint(context, throwable));
+    }
+
+    // 1. 유저를 등급이 높은 순서로 chunk 단위로 나눠서 재고 확인 후 알림 채널로 보내고 알림 히스토리를 저장한다.
+    //    chunk 하나는 한 등급에만 속하고, 전체 발송 예산을 우선순위(상품 긴급도, 구독자 등급) 순서로 받아서 실행한다.
+    //    발송은 chunk별로 병렬로 하고, 저장은 발송 순서대로 chunk마다 한 트랜잭션(유저 히스토리 + checkpoint)으로 한다.
+    //    그래서 DB의 checkpoint (lastTier, lastUserId) 이전 유저의 히스토리는 항상 모두 저장되어 있다.
+    //    구독자 목록은 등급별 long[]이고, 유저 단위가 아니라 chunk 단위로 배열을 잘라서 내보낸다. (유저마다 객체, signal을 만들지 않는다)
+    private Flux<Chunk> notifyUsers(NotificationContext context) {
+        int urgency = context.product().getNotificationUrgency();
+        return Flux.fromIterable(context.subscribers())
+                .concatMap(slice -> Flux.range(0, (slice.size() + chunkSize - 1) / chunkSize)
+                        .map(index -> new Chunk(slice.tier(), Arrays.copyOfRange(slice.userIds(),
+                                index * chunkSize, Math.min(slice.size(), (index + 1) * chunkSize)))))
+                .flatMapSequential(chunk -> fanOutScheduler.schedule(urgency, chunk.tier(),
+                        ensureStockDuringNotification(context)
+                                .then(Mono.defer(() -> deliverChunk(context, chunk)))), maxConcurrency)  // 재고 확인이 끝난 뒤에 발송 준비
+                .concatMap(delivered -> saveChunk(context, delivered));
+    }
+
+    // 2. 알림 완료 상태 갱신 및 저장
+    //    모든 채널에서 실패한 유저가 있으면 완료하지 않고 멈춘다. (checkpoint는 처음 실패한 유저 앞에 남아 있어서 재전송 때 다시 보낸다)
+    private Mono<Void> markNotificationCompleted(NotificationContext context, Chunk lastChunk) {
+        if (context.deliveryFailed().get()) {
+            return Mono.error(new IllegalStateException("일부 유저에게 알림을 보내지 못했습니다."));
+        }
         return Mono.fromRunnable(() -> {
             if (context.notificationHistory() != null) {
-                context.notificationHistory().setLastUserId(lastUserId);
+                context.notificationHistory().setCheckpoint(lastChunk.tier(), lastChunk.lastUserId());
                 context.notificationHistory().markCompleted();
-                productNotificationHistoryRepository.save(context.notificationHistory());
+                saveNotificationHistory(context.notificationHistory());
             }
         });
     }
 
-    // Redis에 Cache 저장하는 메서드
-    private void updateCache(String key, Object value) {
-        redisTemplate.opsForValue().set(key, value);
-    }
-
-    // 상품의 재고 상태를 확인하고 재고가 있을 경우 알림 전송
-    private Mono<Void> getStockAndNotifyUser(NotificationContext context, Long userId) {
-        return Mono.fromCallable(() -> getStockFromCache(context.product().getId()))
-                .flatMap(stock -> handleStockAndNotifyUser(stock, context, userId));
+    // 3. 발송 중에 의존성 장애가 나면 checkpoint를 저장하고 작업을 멈춘다. (품절로 멈춘 경우는 이미 저장되어 있다)
+    //    수동 재전송 시 checkpoint 이후부터 이어서 보내고, 이미 받은 유저는 비트맵으로 건너뛴다.
+    private Mono<Boolean> pauseWithCheckpoint(NotificationContext context, Throwable throwable) {
+        ProductNotificationHistory notificationHistory = context.notificationHistory();
+        if (notificationHistory.getStatus() != ProductNotificationHistory.Status.IN_PROGRESS) {
+            return Mono.error(throwable);
+        }
+        notificationHistory.markCanceledByError();
+        try {
+            saveNotificationHistory(notificationHistory);
+        } catch (RuntimeException e) {
+            // MySQL 장애로 저장하지 못해도 이미 받은 유저는 비트맵으로 건너뛰므로 마지막으로 저장된 checkpoint부터 이어서 보낼 수 있다.
+            log.error("알림 checkpoint 저장 실패: productId={}, restockRound={}", notificationHistory.getProductId(), notificationHistory.getRestockRound(), e);
+        }
+        log.warn("알림 발송 일시 중지: productId={}, restockRound={}, checkpoint=({}, {})", notificationHistory.getProductId(),
+                notificationHistory.getRestockRound(), notificationHistory.getLastTier(), notificationHistory.getLastUserId(), throwable);
+        return Mono.error(new NotificationPausedException("의존성 장애로 알림 발송을 일시 중지했습니다. 중단 지점부터 다시 보낼 수 있습니다.", throwable));
+    }
+
+    // chunk를 보내기 전에 Redis에서 재고를 확인하고, 재고가 0이거나 없으면 품절 처리한다.
+    // Redis를 쓸 수 없으면 DB 재고로 확인한다. (degraded)
+    private Mono<Void> ensureStockDuringNotification(NotificationContext context) {
+        Long productId = context.product().getId();
+        return concurrencyLimiters.redis()
+                .execute(guards.redis().call(() -> getStockFromCache(productId)))
+                .onErrorResume(throwable -> {
+                    log.warn("Redis 재고 확인 실패, DB 재고로 확인합니다: productId={}, {}", productId, throwable.toString());
+                    return concurrencyLimiters.mysql().execute(guards.mysql().call(() -> getStockFromDB(productId)));
+                })
+                .defaultIfEmpty(0)
+                .flatMap(stock -> stock <= 0 ? handleStockDepleted(context) : Mono.<Void>empty());
     }
 
     // Redis에서 재고를 확인한다.
@@ -191,43 +281,130 @@ public class ProductNotificationService {
         return (Integer) redisTemplate.opsForValue().get("productStock:" + productId);
     }
 
-    // 재고를 처리하고 알림을 전송한다.
-    private Mono<Void> handleStockAndNotifyUser(Integer stock, NotificationContext context, Long userId) {
-        if (stock == null || stock <= 0) {
-            return handleStockDepleted(context);  // 재고가 0이거나 없으면 품절 처리
-        }
-        // 재고가 있을 때
-        return saveUserNotificationHistory(context, userId);  // 재고가 있을 때 알림 히스토리 저장
-    }
-
-
     // 재고가 없는 경우 품절 처리를 하고 저장한 뒤 에러를 던진다.
     private Mono<Void> handleStockDepleted(NotificationContext context) {
         if (context.notificationHistory() != null) {
             context.notificationHistory().markCanceledBySoldOut();
-            productNotificationHistoryRepository.save(context.notificationHistory());
+            saveNotificationHistory(context.notificationHistory());
+        }
+        return Mono.error(new NotificationSoldOutException("재고가 0이 되어 알림 전송을 중단하였습니다."));
+    }
+
+    // chunk를 알림 채널로 보내고 발송에 성공한 유저를 돌려준다.
+    // 이번 회차에 이미 알림을 받은 유저(재시도, 재전송)는 비트맵으로 확인해서 건너뛴다.
+    // 모든 채널에서 실패한 유저는 히스토리를 남기지 않고, 처음 실패한 유저 앞까지만 checkpoint로 저장한다. (재전송 때 다시 보낸다)
+    private Mono<DeliveredChunk> deliverChunk(NotificationContext context, Chunk chunk) {
+        long[] userIds = context.notifiedUsers().filterNotNotified(chunk.userIds());
+        if (userIds.length == 0) {
+            return Mono.just(new DeliveredChunk(chunk, List.of(), -1));
+        }
+        DeliveryBatch batch = new DeliveryBatch(context.product().getId(), context.notificationHistory().getRestockRound(), context.message(),
+                LongArrayView.of(userIds));
+        return guards.delivery().protect(notificationDispatcher.dispatch(batch))
+                .map(delivered -> new DeliveredChunk(chunk, delivered, firstFailedIndex(chunk, userIds, delivered)));
+    }
+
+    // chunk 안에서 처음으로 모든 채널에 실패한 유저의 위치 (모두 성공했으면 -1)
+    // delivered는 보낸 순서에서 실패한 유저만 빠진 목록이라서, 처음으로 어긋나는 자리가 첫 실패다.
+    private int firstFailedIndex(Chunk chunk, long[] sentUserIds, List<Long> delivered) {
+        if (delivered.size() == sentUserIds.length) {
+            return -1;
+        }
+        int sentIndex = 0;
+        while (sentIndex < delivered.size() && delivered.get(sentIndex) == sentUserIds[sentIndex]) {
+            sentIndex++;
+        }
+        long firstFailed = sentUserIds[sentIndex];
+        for (int i = 0; i < chunk.userIds().length; i++) {
+            if (chunk.userIds()[i] == firstFailed) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // chunk의 유저 히스토리와 checkpoint를 한 트랜잭션으로 저장한다.
+    // 커밋 비용을 chunk 크기만큼의 insert로 나눠 내고, 중간에 실패하면 chunk 전체가 롤백되어 checkpoint 이후부터 다시 보낸다.
+    // 발송에 실패한 유저가 나오면 checkpoint를 그 유저 앞에서 멈추고, 이후 chunk는 히스토리만 저장한다.
+    private Mono<Chunk> saveChunk(NotificationContext context, DeliveredChunk delivered) {
+        Chunk chunk = delivered.chunk();
+        ProductNotificationHistory notificationHistory = context.notificationHistory();
+        boolean advanceCheckpoint = !context.deliveryFailed().get() && delivered.firstFailedIndex() != 0;
+        long checkpointUserId = delivered.firstFailedIndex() > 0
+                ? chunk.userIds()[delivered.firstFailedIndex() - 1]
+                : chunk.lastUserId();
+        if (delivered.firstFailedIndex() >= 0) {
+            context.deliveryFailed().set(true);
         }
-        return Mono.error(new IllegalArgumentException("재고가 0이 되어 알림 전송을 중단하였습니다."));
+        return concurrencyLimiters.mysql()
+                .execute(guards.mysql().call(() -> transactionTemplate.execute(status -> {
+                    if (!delivered.userIds().isEmpty()) {
+                        List<ProductUserNotificationHistory> userHistories = delivered.userIds().stream()
+                                .map(userId -> new ProductUserNotificationHistory(context.product().getId(), notificationHistory.getRestockRound(), userId))
+                                .toList();
+                        productUserNotificationHistoryRepository.saveAll(userHistories);
+                    }
+                    return advanceCheckpoint
+                            ? productNotificationHistoryRepository.updateCheckpoint(notificationHistory.getId(), chunk.tier(), checkpointUserId)
+                            : 0;
+                })))
+                .doOnNext(updated -> {
+                    if (advanceCheckpoint) {
+                        notificationHistory.setCheckpoint(chunk.tier(), checkpointUserId);
+                    }
+                    markNotified(context, delivered.userIds());  // 커밋이 끝난 뒤에 기록 (중복은 있어도 누락은 없도록)
+                })
+                .thenReturn(chunk);
     }
 
-    // 유저별 알림 히스토리를 저장한다. 마지막 알림 유저를 업데이트 한다.
-    private Mono<Void> saveUserNotificationHistory(NotificationContext context, Long userId) {
-        ProductUserNotificationHistory userHistory = new ProductUserNotificationHistory(context.product().getId(), context.notificationHistory().getRestockRound(), userId);
-        productUserNotificationHistoryRepository.save(userHistory);
-        context.notificationHistory().setLastUserId(userId);
-        return Mono.empty();
+    // 이번 회차에 알림을 받은 유저를 비트맵에 기록한다.
+    // Redis 장애로 기록하지 못해도 발송은 멈추지 않는다. (메모리 비트맵과 checkpoint로 이번 작업의 중복은 막힌다)
+    private void markNotified(NotificationContext context, List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        try {
+            guards.redis().execute(() -> {
+                notifiedUserStore.markNotified(context.notifiedUsers(), userIds);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            log.warn("알림 받은 유저 비트맵 기록 실패: productId={}, {}명", context.product().getId(), userIds.size(), e);
+        }
+    }
+
+    // 이번 회차에 이미 알림을 받은 유저 비트맵을 불러온다. Redis를 쓸 수 없으면 빈 비트맵으로 시작한다. (checkpoint 이후만 보내므로 중복은 병렬 chunk 범위로 제한된다)
+    private NotifiedUsers loadNotifiedUsers(Long productId, Integer restockRound) {
+        try {
+            return guards.redis().execute(() -> notifiedUserStore.load(productId, restockRound));
+        } catch (RuntimeException e) {
+            log.warn("알림 받은 유저 비트맵 조회 실패, 빈 비트맵으로 시작합니다: productId={}, restockRound={}", productId, restockRound, e);
+            return notifiedUserStore.empty(productId, restockRound);
+        }
     }
 
-    // 마지막 알림 히스토리를 가져온다.
-    private ProductNotificationHistory getLastNotificationHistory() {
-        return productNotificationHistoryRepository.findTopByOrderByIdDesc().orElse(null);
+    // 상품의 마지막 알림 히스토리를 가져온다.
+    private ProductNotificationHistory getLastNotificationHistory(Long productId) {
+        return guards.mysql().execute(() -> productNotificationHistoryRepository.findTopByProductIdOrderByIdDesc(productId)).orElse(null);
     }
 
     // [에러 처리]
+    // 발송 중에 멈춘 경우(NotificationPausedException)는 이미 진행 중이던 히스토리에 checkpoint를 저장했으므로 그대로 전달한다.
+    // 품절로 멈춘 경우(NotificationSoldOutException, 마지막 히스토리가 CANCELED_BY_SOLD_OUT)는 오류 히스토리를 남기지 않는다. (자동 재개 대상이 아니다)
     private Mono<Boolean> handleProcessError(Long productId, Throwable throwable) {
         log.error("재입고 알림 프로세스 중 오류 발생: ", throwable);
-        ProductNotificationHistory lastNotificationHistory = getLastNotificationHistory();  // 마지막 알림 히스토리 가져오기
-        saveNotificationHistoryError(productId, lastNotificationHistory);  // 오류 상태 저장
+        if (throwable instanceof NotificationPausedException || throwable instanceof NotificationSoldOutException) {
+            return Mono.error(throwable);
+        }
+        try {
+            ProductNotificationHistory lastNotificationHistory = getLastNotificationHistory(productId);  // 마지막 알림 히스토리 가져오기
+            if (lastNotificationHistory != null && lastNotificationHistory.getStatus() == ProductNotificationHistory.Status.CANCELED_BY_SOLD_OUT) {
+                return Mono.error(throwable);
+            }
+            saveNotificationHistoryError(productId, lastNotificationHistory);  // 오류 상태 저장
+        } catch (RuntimeException e) {
+            log.error("알림 오류 상태 저장 실패: productId={}", productId, e);
+        }
         return Mono.error(throwable);
     }
 
@@ -237,6 +414,7 @@ public class ProductNotificationService {
         Long lastUserId = (lastNotificationHistory != null && lastNotificationHistory.getLastUserId() != null)
                 ? lastNotificationHistory.getLastUserId()
                 : 0L;   // 마지막 유저 아이디가 없으면 0 저장
+        Integer lastTier = (lastNotificationHistory != null) ? lastNotificationHistory.getLastTier() : null;
 
         ProductNotificationHistory notificationHistory = new ProductNotificationHistory(
                 productId,
@@ -245,8 +423,11 @@ public class ProductNotificationService {
                 ProductNotificationHistory.Status.CANCELED_BY_ERROR
         );
 
-        notificationHistory.setLastUserId(lastUserId);
-        productNotificationHistoryRepository.save(notificationHistory);
+        notificationHistory.setCheckpoint(lastTier, lastUserId);
+        if (lastNotificationHistory != null) {
+            notificationHistory.inheritResumeState(lastNotificationHistory);
+        }
+        saveNotificationHistory(notificationHistory);
     }
 
     // 이전의 마지막 알림이 품절이나 에러로 중단되었는지 확인
@@ -256,63 +437,72 @@ public class ProductNotificationService {
     }
 
     // 남은 알림을 Redis 혹은 DB에서 가져옴
-    // 이때 Redis에 id값들을 String으로 넣어놨기 때문에 파싱해서 가져옴
-    private List<Long> getRemainingNotificationsFromCacheOrDB(Long productId, Long lastUserId) {
-        String cacheKey = "productNotificationUserIds:" + productId;
-        String userIdsStr = (String) redisTemplate.opsForValue().get(cacheKey);
-        List<Long> userIds = (userIdsStr != null)
-                ? parseUserIds(userIdsStr)  // 유저 목록이 있으면 파싱
-                : fetchAndCacheUserIdsFromDB(productId, cacheKey);  // 없으면 DB에서 가져옴
-        return userIds.stream()
-                .filter(userId -> userId > lastUserId)  // lastUserId 보다 큰 유저만 가져옴
-                .toList();
-    }
-
-    // String으로 저장된 유저 아이디들을 List<Long>으로 변환한다.
-    private List<Long> parseUserIds(String userIdsStr) {
-        return List.of(userIdsStr.split(",")).stream().map(Long::parseLong).toList();
-    }
-
-    //  DB에서 유저 id 목록을 조회한 뒤 Redis에 저장한다.
-    private List<Long> fetchAndCacheUserIdsFromDB(Long productId, String cacheKey) {
-        List<Long> userIds = productUserNotificationRepository.findByProductId(productId)
-                .stream()
-                .map(ProductUserNotification::getUserId)
-                .toList();
-        if (!userIds.isEmpty()) {
-            // String으로 변환해서 Redis에 저장한다.
-            String userIdsStr = String.join(",", userIds.stream().map(String::valueOf).toArray(String[]::new));
-            updateCache(cacheKey, userIdsStr);
+    // 구독자 인덱스가 발송 순서(등급 높은 순, userId 순)로 정렬되어 있어서 checkpoint 이후만 범위 조회한다.
+    // checkpoint가 없으면(한 chunk도 끝나지 않았으면) 처음부터 다시 보낸다. (이미 받은 유저는 비트맵으로 건너뜀)
+    private List<TierSlice> getRemainingNotificationsFromCacheOrDB(Long productId, ProductNotificationHistory history) {
+        if (history.getLastUserId() == null) {
+            return guards.redis().execute(() -> productSubscriberIndex.getSubscribers(productId));
         }
-        return userIds;
+        int lastTier = history.getLastTier() != null ? history.getLastTier() : 0;   // 등급 도입 전의 checkpoint는 일반 등급
+        return guards.redis().execute(() -> productSubscriberIndex.getSubscribersAfter(productId, lastTier, history.getLastUserId()));
     }
 
     // 알림 설정 유저가 없는 경우 에러를 던진다.
-    private void validateNotificationUserIdsExist(List<Long> userIds) {
-        if (userIds.isEmpty()) {
+    private void validateNotificationUserIdsExist(List<TierSlice> subscribers) {
+        if (subscribers.isEmpty()) {
             throw new NoSuchElementException("알림을 설정한 유저가 없습니다.");
         }
     }
 
-    // 알림을 보내고 ProductNotificationHistory를 저장한다.
-    private Mono<Boolean> sendNotificationAndSaveHistory(Product product, List<Long> notificationUserIds) {
-        incrementRestockRound(product);
-        ProductNotificationHistory notificationHistory = createInProgressNotificationHistory(product);
-        return sendNotificationToUsers(new NotificationContext(product, notificationUserIds, notificationHistory));
+    // 중단된 회차를 같은 회차로 이어서 보내고 ProductNotificationHistory를 갱신한다.
+    // 이미 알림을 받은 유저는 회차별 비트맵으로 건너뛰기 때문에 checkpoint 이전에 병렬로 저장된 유저에게도 중복 발송하지 않는다.
+    private Mono<Boolean> resumeNotificationAndSaveHistory(Product product, ProductNotificationHistory notificationHistory, List<TierSlice> subscribers) {
+        if (subscribers.isEmpty()) {
+            // checkpoint 이후 남은 유저가 없으면 완료 처리
+            notificationHistory.markCompleted();
+            saveNotificationHistory(notificationHistory);
+            return Mono.just(true);
+        }
+        notificationHistory.markInProgress();
+        saveNotificationHistory(notificationHistory);
+        NotifiedUsers notifiedUsers = loadNotifiedUsers(product.getId(), notificationHistory.getRestockRound());
+        return sendNotificationToUsers(new NotificationContext(product, subscribers, notificationHistory, notifiedUsers));
     }
 
     // 알림 과정 중 상태를 IN_PROGRESS 설정한다.
-    private ProductNotificationHistory createInProgressNotificationHistory(Product product) {
+    private ProductNotificationHistory createInProgressNotificationHistory(Product product, Integer restockRound) {
         // Product 정보로부터 ProductNotificationHistory 객체 생성
         ProductNotificationHistory notificationHistory = new ProductNotificationHistory(
                 product.getId(),
-                product.getTotalRestockRound(),
+                restockRound,
                 ProductNotificationHistory.Status.IN_PROGRESS  // 상태는 IN_PROGRESS로 설정
         );
         return notificationHistory;
     }
 
     // 알림 과정에 필요한 Context 간단하게 저장
-    private record NotificationContext(Product product, List<Long> userIds, ProductNotificationHistory notificationHistory) {
+    // deliveryFailed: 이번 작업에서 모든 채널에 실패한 유저가 나왔는지 (나온 뒤로는 checkpoint를 올리지 않는다)
+    private record NotificationContext(Product product, List<TierSlice> subscribers, ProductNotificationHistory notificationHistory,
+                                       NotifiedUsers notifiedUsers, AtomicBoolean deliveryFailed) {
+        private NotificationContext(Product product, List<TierSlice> subscribers, ProductNotificationHistory notificationHistory,
+                                    NotifiedUsers notifiedUsers) {
+            this(product, subscribers, notificationHistory, notifiedUsers, new AtomicBoolean());
+        }
+
+        // 알림 보내는 문장
+        private String message() {
+            return "재입고 알림 - 상품명 [" + product.getName() + "]";
+        }
+    }
+
+    // 한 등급에 속한 유저 chunk
+    private record Chunk(int tier, long[] userIds) {
+        private long lastUserId() {
+            return userIds[userIds.length - 1];
+        }
+    }
+
+    // 발송이 끝난 chunk와 그중 발송에 성공한 유저, 처음 실패한 유저의 chunk 내 위치 (없으면 -1)
+    private record DeliveredChunk(Chunk chunk, List<Long> userIds, int firstFailedIndex) {
     }
 }
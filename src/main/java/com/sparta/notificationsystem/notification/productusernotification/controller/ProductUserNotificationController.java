@@ -0,0 +1,37 @@
+package com.sparta.notificationsystem.notification.productusernotification.controller;
+
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductUserNotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+public class ProductUserNotificationController {
+    private final ProductUserNotificationService productUserNotificationService;
+
+    @PostMapping("/products/{productId}/notifications/users/{userId}")
+    public Mono<ResponseEntity<String>> subscribe(@PathVariable("productId") Long productId,
+                                                  @PathVariable("userId") Long userId,
+                                                  @RequestParam(value = "tier", defaultValue = "0") int tier) {
+        return productUserNotificationService.subscribe(productId, userId, tier)
+                .subscribeOn(Schedulers.boundedElastic())  // Redis 블로킹 작업을 비동기적으로 처리
+                .map(success -> ResponseEntity.ok("재입고 알림이 설정되었습니다."));
+    }
+
+    @DeleteMapping("/products/{productId}/notifications/users/{userId}")
+    public Mono<ResponseEntity<String>> unsubscribe(@PathVariable("productId") Long productId,
+                                                    @PathVariable("userId") Long userId) {
+        return productUserNotificationService.unsubscribe(productId, userId)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(success -> ResponseEntity.ok("재입고 알림이 해제되었습니다."));
+    }
+}
@@ -0,0 +1,52 @@
+package com.sparta.notificationsystem.notification.productusernotification.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// 회차별 알림 발송 요약 (리포트 조회용, 히스토리 파티션이 삭제된 뒤에도 남는다)
+@Entity
+@IdClass(ProductNotificationRoundSummary.RoundId.class)
+@Getter
+@NoArgsConstructor
+public class ProductNotificationRoundSummary {
+    @Id
+    private Long productId;
+    @Id
+    private Integer restockRound;
+    private Long notifiedCount;     // 알림을 받은 유저 수
+    private LocalDateTime firstNotifiedAt;
+    private LocalDateTime lastNotifiedAt;
+    private LocalDateTime summarizedAt;
+    private LocalDateTime archivedAt;   // 아카이브 파일로 내보낸 시각
+
+    public ProductNotificationRoundSummary(Long productId, Integer restockRound, Long notifiedCount,
+                                           LocalDateTime firstNotifiedAt, LocalDateTime lastNotifiedAt) {
+        this.productId = productId;
+        this.restockRound = restockRound;
+        this.notifiedCount = notifiedCount;
+        this.firstNotifiedAt = firstNotifiedAt;
+        this.lastNotifiedAt = lastNotifiedAt;
+        this.summarizedAt = LocalDateTime.now();
+    }
+
+    public void markArchived() {
+        this.archivedAt = LocalDateTime.now();
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class RoundId implements Serializable {
+        private Long productId;
+        private Integer restockRound;
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,6 +15,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "uk_product_user_notification_product_user", columnList = "productId, userId", unique = true))
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,6 +25,7 @@ public class ProductUserNotification {
     private Long id;
     private Long productId; // 알림 설정한 상품
     private Long userId;    // 알림 설정한 유저의 아이디
+    private int tier;   // 구독자 등급 (0: 일반, 클수록 먼저 발송 예: 1 = 얼리 액세스 회원)
     @CreationTimestamp
     private LocalDateTime createdAt;
     @UpdateTimestamp
@@ -31,4 +35,13 @@ public class ProductUserNotification {
         this.productId = productId;
         this.userId = userId;
     }
+
+    public ProductUserNotification(Long productId, Long userId, int tier) {
+        this(productId, userId);
+        this.tier = tier;
+    }
+
+    public void changeTier(int tier) {
+        this.tier = tier;
+    }
 }
@@ -1,35 +1,62 @@
 package com.sparta.notificationsystem.notification.productusernotification.entity;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
+// 추가만 일어나는 테이블이라 IDENTITY 대신 (상품, 회차, 유저, 발송 날짜) 복합 키를 사용한다.
+// 발송 날짜(created_at)로 월별 RANGE 파티셔닝을 하기 때문에 기본 키에 포함되어야 한다. (db/product_user_notification_history_partitioning.sql)
+// 따라서 기본 키가 (상품, 회차, 유저)의 중복을 막지는 않는다. 재전송으로 같은 유저가 두 번 저장될 수 있고, 조회는 distinct userId로 한다.
+// 회차별 조회는 기본 키의 앞부분 (product_id, restock_round)를 쓰므로 별도 인덱스를 두지 않는다.
+// IDENTITY가 아니므로 insert를 JDBC batch로 묶을 수 있다.
 @Entity
+@Table(name = "product_user_notification_history")
+@IdClass(ProductUserNotificationHistoryId.class)
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class ProductUserNotificationHistory {
+public class ProductUserNotificationHistory implements Persistable<ProductUserNotificationHistoryId> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
     private Long productId; // 알림 발송 상품
+    @Id
     private Integer restockRound;   // 이번 알림의 재입고 회차
+    @Id
     private Long userId;    // 알림을 받은 유저
-    @CreationTimestamp
+    @Id
     private LocalDateTime createdAt;    // 발송 날짜
 
+    // 새로 만든 엔티티는 save 시 SELECT 없이 바로 INSERT 하도록 한다.
+    @Transient
+    private boolean isNew = true;
+
     public ProductUserNotificationHistory(Long productId, Integer restockRound, Long userId) {
         this.productId = productId;
         this.restockRound = restockRound;
         this.userId = userId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @Override
+    public ProductUserNotificationHistoryId getId() {
+        return new ProductUserNotificationHistoryId(productId, restockRound, userId, createdAt);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
     }
 }
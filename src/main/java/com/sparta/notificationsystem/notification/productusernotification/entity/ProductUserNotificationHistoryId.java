@@ -0,0 +1,20 @@
+package com.sparta.notificationsystem.notification.productusernotification.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ProductUserNotificationHistoryId implements Serializable {
+    private Long productId;
+    private Integer restockRound;
+    private Long userId;
+    private LocalDateTime createdAt;
+}
@@ -1,10 +1,62 @@
 package com.sparta.notificationsystem.notification.productusernotification.repository;
 
 import com.sparta.notificationsystem.notification.productnotification.entity.ProductNotificationHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductNotificationHistoryRepository extends JpaRepository<ProductNotificationHistory, Long> {
 
     Optional<ProductNotificationHistory> findTopByOrderByIdDesc();
+
+    Optional<ProductNotificationHistory> findTopByProductIdOrderByIdDesc(Long productId);
+
+    // 발송이 끝났지만 아직 요약되지 않은 회차
+    @Query("select h from ProductNotificationHistory h where h.status = :status and not exists " +
+            "(select s from ProductNotificationRoundSummary s where s.productId = h.productId and s.restockRound = h.restockRound) " +
+            "order by h.id")
+    List<ProductNotificationHistory> findWithoutRoundSummary(@Param("status") ProductNotificationHistory.Status status, Pageable pageable);
+
+    // 발송 checkpoint만 갱신한다. (chunk마다 유저 히스토리와 같은 트랜잭션에서 호출)
+    @Modifying
+    @Query("update ProductNotificationHistory h set h.lastTier = :lastTier, h.lastUserId = :lastUserId where h.id = :id")
+    int updateCheckpoint(@Param("id") Long id, @Param("lastTier") Integer lastTier, @Param("lastUserId") Long lastUserId);
+
+    // 자동 재개 대상: 재개 시각이 지났고, 시도 횟수가 남은 상품별 마지막 히스토리
+    // 재개 가능 여부는 nextResumeAt 만으로 정한다. (claim 중인 행은 claim이 nextResumeAt을 lease 끝으로 미뤄 둔다)
+    @Query("select h.id from ProductNotificationHistory h where h.status = :status and h.resumeAttempts < :maxAttempts " +
+            "and (h.nextResumeAt is null or h.nextResumeAt <= :now) " +
+            "and not exists (select n from ProductNotificationHistory n where n.productId = h.productId and n.id > h.id) " +
+            "order by h.id")
+    List<Long> findResumableIds(@Param("status") ProductNotificationHistory.Status status, @Param("maxAttempts") int maxAttempts,
+                                @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 후보를 한 번의 UPDATE로 claim 한다. 다른 인스턴스가 먼저 claim한 행은 nextResumeAt이 미뤄져 있어서 바뀌지 않는다.
+    // claim 직후 sweeper가 nextResumeAt을 backoff 시각으로 다시 정한다.
+    @Modifying
+    @Query("update ProductNotificationHistory h set h.claimedBy = :owner, h.claimedUntil = :until, h.nextResumeAt = :until, " +
+            "h.resumeAttempts = h.resumeAttempts + 1 " +
+            "where h.id in :ids and h.status = :status and (h.nextResumeAt is null or h.nextResumeAt <= :now)")
+    int claimForResume(@Param("ids") Collection<Long> ids, @Param("status") ProductNotificationHistory.Status status,
+                       @Param("owner") String owner, @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    // admission control에 거절되어 재개하지 못한 claim을 풀고 시도 횟수를 되돌린다. (다음 주기에 바로 다시 잡힌다)
+    @Modifying
+    @Query("update ProductNotificationHistory h set h.claimedBy = null, h.claimedUntil = null, h.nextResumeAt = null, " +
+            "h.resumeAttempts = h.resumeAttempts - 1 where h.id = :id and h.claimedBy = :owner and h.status = :status")
+    int releaseClaim(@Param("id") Long id, @Param("owner") String owner, @Param("status") ProductNotificationHistory.Status status);
+
+    // 재개가 끝나면(성공, 실패) claim을 푼다. 다음 재개는 claim 때 정한 nextResumeAt(backoff)을 따른다.
+    @Modifying
+    @Query("update ProductNotificationHistory h set h.claimedBy = null, h.claimedUntil = null where h.id = :id and h.claimedBy = :owner")
+    int clearClaim(@Param("id") Long id, @Param("owner") String owner);
+
+    List<ProductNotificationHistory> findByIdInAndClaimedBy(Collection<Long> ids, String claimedBy);
 }
@@ -0,0 +1,14 @@
+package com.sparta.notificationsystem.notification.productusernotification.repository;
+
+import com.sparta.notificationsystem.notification.productusernotification.entity.ProductNotificationRoundSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ProductNotificationRoundSummaryRepository extends JpaRepository<ProductNotificationRoundSummary, ProductNotificationRoundSummary.RoundId> {
+
+    List<ProductNotificationRoundSummary> findByProductIdOrderByRestockRoundDesc(Long productId);
+
+    List<ProductNotificationRoundSummary> findByArchivedAtIsNull(Pageable pageable);
+}
@@ -1,7 +1,25 @@
 package com.sparta.notificationsystem.notification.productusernotification.repository;
 
 import com.sparta.notificationsystem.notification.productusernotification.entity.ProductUserNotificationHistory;
+import com.sparta.notificationsystem.notification.productusernotification.entity.ProductUserNotificationHistoryId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductUserNotificationHistoryRepository extends JpaRepository<ProductUserNotificationHistory, Long> {
+import java.util.List;
+
+public interface ProductUserNotificationHistoryRepository extends JpaRepository<ProductUserNotificationHistory, ProductUserNotificationHistoryId> {
+
+    // 회차별 발송 건수, 첫/마지막 발송 시각 (기본 키의 앞부분 (product_id, restock_round)로 범위 조회)
+    @Query("select count(distinct h.userId), min(h.createdAt), max(h.createdAt) from ProductUserNotificationHistory h " +
+            "where h.productId = :productId and h.restockRound = :restockRound")
+    List<Object[]> summarizeRound(@Param("productId") Long productId, @Param("restockRound") Integer restockRound);
+
+    // 회차의 수신 유저를 lastUserId 이후부터 userId 순서로 한 페이지씩 조회 (keyset 페이징)
+    @Query("select distinct h.userId from ProductUserNotificationHistory h " +
+            "where h.productId = :productId and h.restockRound = :restockRound and h.userId > :lastUserId " +
+            "order by h.userId")
+    List<Long> findUserIdsAfter(@Param("productId") Long productId, @Param("restockRound") Integer restockRound,
+                                @Param("lastUserId") Long lastUserId, Pageable pageable);
 }
@@ -0,0 +1,192 @@
+package com.sparta.notificationsystem.notification.productusernotification.service;
+
+import com.sparta.notificationsystem.notification.productnotification.entity.ProductNotificationHistory;
+import com.sparta.notificationsystem.notification.productusernotification.entity.ProductNotificationRoundSummary;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationHistoryRepository;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationRoundSummaryRepository;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductUserNotificationHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// product_user_notification_history 테이블 관리 작업
+// 1. 발송이 끝난 회차를 ProductNotificationRoundSummary로 요약한다.
+// 2. 월별 파티션을 미리 만들어 두고, 보관 기간이 지난 파티션은 요약한 뒤 DROP 한다. (DELETE보다 훨씬 가볍다)
+// 테이블이 파티셔닝되어 있지 않으면 2번은 건너뛴다. (db/product_user_notification_history_partitioning.sql 참고)
+// 애플리케이션 시작 시 한 번, 이후 매일 실행한다. (마이그레이션은 pmax만 만들고 월 파티션은 시작 시 여기서 만든다)
+// 여러 인스턴스가 같은 테이블에 ALTER TABLE을 동시에 실행하지 않도록 Redis 락을 잡은 인스턴스만 실행한다.
+@Slf4j
+@Component
+public class NotificationHistoryRetentionJob {
+    private static final String TABLE = "product_user_notification_history";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final int ROLLUP_BATCH_SIZE = 100;
+    private static final String LOCK_KEY = "lock:notification-history-retention";
+    // 자기가 잡은 락만 지운다. (TTL이 지나 다른 인스턴스가 잡은 락을 지우지 않도록)
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductNotificationHistoryRepository productNotificationHistoryRepository;
+    private final ProductUserNotificationHistoryRepository productUserNotificationHistoryRepository;
+    private final ProductNotificationRoundSummaryRepository productNotificationRoundSummaryRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final int retentionMonths;
+    private final int futureMonths;
+    private final Duration lockTtl;
+
+    public NotificationHistoryRetentionJob(JdbcTemplate jdbcTemplate,
+                                           ProductNotificationHistoryRepository productNotificationHistoryRepository,
+                                           ProductUserNotificationHistoryRepository productUserNotificationHistoryRepository,
+                                           ProductNotificationRoundSummaryRepository productNotificationRoundSummaryRepository,
+                                           StringRedisTemplate stringRedisTemplate,
+                                           @Value("${notification.history.retention-months:6}") int retentionMonths,
+                                           @Value("${notification.history.future-partitions:2}") int futureMonths,
+                                           @Value("${notification.history.lock-ttl-ms:1800000}") long lockTtlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productNotificationHistoryRepository = productNotificationHistoryRepository;
+        this.productUserNotificationHistoryRepository = productUserNotificationHistoryRepository;
+        this.productNotificationRoundSummaryRepository = productNotificationRoundSummaryRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.retentionMonths = retentionMonths;
+        this.futureMonths = futureMonths;
+        this.lockTtl = Duration.ofMillis(lockTtlMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.warn("{} 시작 시 관리 작업 실패, 다음 주기에 다시 시도합니다.", TABLE, e);  // 시작 자체를 막지 않는다.
+        }
+    }
+
+    @Scheduled(cron = "${notification.history.retention-cron:0 0 3 * * *}")
+    public void run() {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked;
+        try {
+            locked = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, lockTtl);
+        } catch (RuntimeException e) {
+            log.warn("{} 관리 락을 잡지 못해 이번 주기를 건너뜁니다.", TABLE, e);
+            return;
+        }
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("다른 인스턴스가 {} 관리 작업을 실행 중이라 건너뜁니다.", TABLE);
+            return;
+        }
+        try {
+            runLocked();
+        } finally {
+            releaseLock(owner);
+        }
+    }
+
+    private void runLocked() {
+        rollupCompletedRounds();
+        List<String> partitions = findPartitions();
+        if (partitions.isEmpty()) {
+            log.debug("{} 테이블이 파티셔닝되어 있지 않아 파티션 관리를 건너뜁니다.", TABLE);
+            return;
+        }
+        addFuturePartitions(partitions);
+        dropExpiredPartitions(partitions);
+    }
+
+    private void releaseLock(String owner) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LOCK, List.of(LOCK_KEY), owner);
+        } catch (RuntimeException e) {
+            log.warn("{} 관리 락 해제 실패 (TTL이 지나면 풀린다)", TABLE, e);
+        }
+    }
+
+    // 완료된 회차 중 요약이 없는 회차를 요약한다.
+    public void rollupCompletedRounds() {
+        List<ProductNotificationHistory> histories;
+        do {
+            histories = productNotificationHistoryRepository.findWithoutRoundSummary(
+                    ProductNotificationHistory.Status.COMPLETED, PageRequest.of(0, ROLLUP_BATCH_SIZE));
+            histories.forEach(history -> summarizeRound(history.getProductId(), history.getRestockRound()));
+        } while (histories.size() == ROLLUP_BATCH_SIZE);
+    }
+
+    // (product_id, restock_round)가 기본 키의 앞부분이라 인덱스 범위 조회로 집계된다.
+    public ProductNotificationRoundSummary summarizeRound(Long productId, Integer restockRound) {
+        Object[] row = productUserNotificationHistoryRepository.summarizeRound(productId, restockRound).get(0);
+        ProductNotificationRoundSummary summary = new ProductNotificationRoundSummary(
+                productId, restockRound, (Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2]);
+        return productNotificationRoundSummaryRepository.save(summary);
+    }
+
+    private List<String> findPartitions() {
+        return jdbcTemplate.queryForList(
+                "select partition_name from information_schema.partitions " +
+                        "where table_schema = database() and table_name = ? and partition_name is not null " +
+                        "order by partition_ordinal_position",
+                String.class, TABLE);
+    }
+
+    // pmax를 나눠서 이번 달부터 futureMonths 뒤까지의 월별 파티션을 만든다.
+    private void addFuturePartitions(List<String> partitions) {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= futureMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = month.format(PARTITION_NAME);
+            if (partitions.contains(name)) {
+                continue;
+            }
+            jdbcTemplate.execute("alter table " + TABLE + " reorganize partition " + MAX_PARTITION + " into (" +
+                    "partition " + name + " values less than ('" + month.plusMonths(1).atDay(1) + "'), " +
+                    "partition " + MAX_PARTITION + " values less than (maxvalue))");
+            log.info("{} 파티션 추가: {}", TABLE, name);
+        }
+    }
+
+    // 보관 기간이 지난 월 파티션을 삭제한다. 삭제 전에 요약이 없는 회차는 먼저 요약한다.
+    private void dropExpiredPartitions(List<String> partitions) {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        for (String name : partitions) {
+            if (MAX_PARTITION.equals(name) || !name.matches("p\\d{6}")) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(name.substring(1), DateTimeFormatter.ofPattern("yyyyMM"));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            summarizeRoundsIn(name);
+            jdbcTemplate.execute("alter table " + TABLE + " drop partition " + name);
+            log.info("{} 보관 기간이 지난 파티션 삭제: {}", TABLE, name);
+        }
+    }
+
+    private void summarizeRoundsIn(String partition) {
+        List<Map<String, Object>> rounds = jdbcTemplate.queryForList(
+                "select distinct product_id, restock_round from " + TABLE + " partition (" + partition + ")");
+        for (Map<String, Object> round : rounds) {
+            Long productId = ((Number) round.get("product_id")).longValue();
+            Integer restockRound = ((Number) round.get("restock_round")).intValue();
+            if (!productNotificationRoundSummaryRepository.existsById(new ProductNotificationRoundSummary.RoundId(productId, restockRound))) {
+                summarizeRound(productId, restockRound);
+            }
+        }
+    }
+}
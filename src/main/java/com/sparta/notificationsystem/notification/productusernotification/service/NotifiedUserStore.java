@@ -0,0 +1,127 @@
+package com.sparta.notificationsystem.notification.productusernotification.service;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// (상품, 재입고 회차)별로 이미 알림을 받은 유저를 비트맵으로 관리한다.
+// 메모리에서는 RoaringBitmap으로 O(1) 확인하고, Redis 비트맵(SETBIT)에도 기록해서 재시작/재전송 시 복구한다.
+// 재시도나 재전송 시 MySQL 히스토리를 조회하지 않고 이미 받은 유저를 건너뛸 수 있다.
+@Component
+public class NotifiedUserStore {
+    private static final String KEY_PREFIX = "notifiedUsers:";
+    private static final long MAX_OFFSET = 0xFFFFFFFFL;    // Redis 비트맵 offset 최대값 (2^32 - 1)
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration ttl;
+
+    public NotifiedUserStore(StringRedisTemplate stringRedisTemplate,
+                             @Value("${notification.notified-users.ttl-days:7}") long ttlDays) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    // Redis에 기록된 비트맵을 읽어서 메모리 비트맵을 만든다. (없으면 빈 비트맵)
+    public NotifiedUsers load(Long productId, Integer restockRound) {
+        String key = key(productId, restockRound);
+        byte[] bits = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(key.getBytes(StandardCharsets.UTF_8)));
+        return new NotifiedUsers(key, bits == null ? new RoaringBitmap() : fromRedisBitmap(bits));
+    }
+
+    // Redis를 읽지 않고 빈 비트맵으로 시작한다. (Redis 장애로 load하지 못한 경우, 기록은 같은 회차 key로 이어서 한다)
+    public NotifiedUsers empty(Long productId, Integer restockRound) {
+        return new NotifiedUsers(key(productId, restockRound), new RoaringBitmap());
+    }
+
+    // 알림 히스토리 저장이 끝난 유저를 메모리와 Redis에 기록한다.
+    public void markNotified(NotifiedUsers notifiedUsers, List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        notifiedUsers.addAll(userIds);
+        byte[] key = notifiedUsers.key().getBytes(StandardCharsets.UTF_8);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : userIds) {
+                if (isTrackable(userId)) {
+                    connection.stringCommands().setBit(key, userId, true);
+                }
+            }
+            connection.keyCommands().expire(key, ttl.getSeconds());
+            return null;
+        });
+    }
+
+    // Redis 비트맵은 바이트의 상위 비트부터 offset 0, 1, 2... 순서로 저장된다.
+    private RoaringBitmap fromRedisBitmap(byte[] bits) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < bits.length; i++) {
+            int b = bits[i] & 0xFF;
+            while (b != 0) {
+                int bit = Integer.numberOfLeadingZeros(b) - 24;  // 바이트 안에서 가장 앞의 1 비트 위치
+                bitmap.add((int) ((long) i * 8 + bit));
+                b &= ~(0x80 >>> bit);
+            }
+        }
+        return bitmap;
+    }
+
+    static boolean isTrackable(long userId) {
+        return userId >= 0 && userId <= MAX_OFFSET;
+    }
+
+    private String key(Long productId, Integer restockRound) {
+        return KEY_PREFIX + productId + ":" + restockRound;
+    }
+
+    // 한 회차의 알림 발송 동안 공유하는 메모리 비트맵 (chunk가 병렬로 처리되므로 동기화한다)
+    public static final class NotifiedUsers {
+        private final String key;
+        private final RoaringBitmap bitmap;
+
+        private NotifiedUsers(String key, RoaringBitmap bitmap) {
+            this.key = key;
+            this.bitmap = bitmap;
+        }
+
+        // 비트맵으로 표현할 수 없는 아이디는 항상 받지 않은 것으로 본다.
+        public synchronized boolean contains(Long userId) {
+            return isTrackable(userId) && bitmap.contains((int) userId.longValue());
+        }
+
+        // 아직 알림을 받지 않은 유저만 남긴다. (chunk마다 배열 하나만 새로 만든다)
+        public synchronized long[] filterNotNotified(long[] userIds) {
+            long[] remaining = new long[userIds.length];
+            int count = 0;
+            for (long userId : userIds) {
+                if (!isTrackable(userId) || !bitmap.contains((int) userId)) {
+                    remaining[count++] = userId;
+                }
+            }
+            return count == userIds.length ? userIds : Arrays.copyOf(remaining, count);
+        }
+
+        public synchronized int size() {
+            return bitmap.getCardinality();
+        }
+
+        private synchronized void addAll(List<Long> userIds) {
+            for (Long userId : userIds) {
+                if (isTrackable(userId)) {
+                    bitmap.add((int) userId.longValue());
+                }
+            }
+        }
+
+        private String key() {
+            return key;
+        }
+    }
+}
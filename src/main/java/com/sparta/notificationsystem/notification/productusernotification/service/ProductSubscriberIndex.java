@@ -0,0 +1,318 @@
+package com.sparta.notificationsystem.notification.productusernotification.service;
+
+import com.sparta.notificationsystem.global.cache.SingleFlight;
+import com.sparta.notificationsystem.notification.productusernotification.service.SubscriptionWriteBehindBuffer.Change;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// 상품별 알림 구독자 인덱스 (Redis Sorted Set, score = userId - tier * TIER_SPAN)
+// 등급(tier)이 높은 구독자가 앞에 오고, 같은 등급 안에서는 userId 순서로 정렬된다. (= 발송 순서)
+// DB에서 전체 목록을 적재한 뒤에는 구독/해제 시 유저 한 명씩만 추가/삭제해서 전체를 다시 읽지 않는다.
+// 전체 적재가 끝난 인덱스에만 LOADED 표시(score -inf)가 있어서, 구독 요청으로 일부만 만들어진 인덱스와 구분한다.
+// 인덱스가 없을 때 동시에 들어온 요청은 상품별로 한 번만 DB에서 적재하고 그 결과를 함께 쓴다. (single-flight)
+// 구독/해제와 전체 적재는 상품별 락으로 순서를 맞춘다. (적재가 대기 요청을 읽은 뒤 들어온 해제가 적재에 덮어써지지 않도록)
+// 구독자 목록은 등급별 long[]로 들고 다닌다. (구독자 수만큼 Long, String 객체를 만들지 않는다)
+// score에 userId가 들어 있으므로 member 문자열은 읽지 않고 score만으로 복원한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSubscriberIndex {
+    private static final String KEY_PREFIX = "productSubscribers:";
+    private static final String LOADED = "loaded";
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int READ_PAGE_SIZE = 10_000;   // 한 번에 Redis에서 읽는 구독자 수 (응답 객체가 한꺼번에 쌓이지 않도록)
+    // 발송 순서대로 정렬해서 읽는다. (MySQL에서 행을 한 줄씩 받아오도록 fetch size를 Integer.MIN_VALUE로 준다)
+    private static final String SELECT_SUBSCRIBERS =
+            "select user_id, tier from product_user_notification where product_id = ? order by tier desc, user_id";
+    static final long TIER_SPAN = 1L << 48;    // userId < 2^48, tier <= MAX_TIER 이면 score가 double로 정확히 표현된다.
+    public static final int MAX_TIER = 15;
+    private static final int LOCK_STRIPES = 64;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final SubscriptionWriteBehindBuffer subscriptionWriteBehindBuffer;
+    private final SingleFlight<Long, List<TierSlice>> loads = new SingleFlight<>();
+    private final Object[] locks = newLocks();
+
+    // 구독자 전체를 발송 순서대로 등급별로 나눠서 가져온다. 인덱스가 없으면 DB에서 적재한다.
+    // 첫 페이지는 -inf부터 읽어서 LOADED 표시가 있는지 함께 확인한다.
+    public List<TierSlice> getSubscribers(Long productId) {
+        byte[] key = rawKey(productId);
+        List<Tuple> first = readPage(key, Range.unbounded());
+        if (first.isEmpty() || !Double.isInfinite(first.get(0).getScore())) {
+            return load(productId);
+        }
+        return readAll(key, first);
+    }
+
+    // checkpoint (lastTier, lastUserId) 이후의 구독자만 가져온다. (중단된 알림 재전송용)
+    public List<TierSlice> getSubscribersAfter(Long productId, int lastTier, Long lastUserId) {
+        if (stringRedisTemplate.opsForZSet().score(key(productId), LOADED) == null) {
+            return after(load(productId), lastTier, lastUserId);
+        }
+        byte[] key = rawKey(productId);
+        return readAll(key, readPage(key, Range.rightUnbounded(Range.Bound.exclusive(score(lastTier, lastUserId)))));
+    }
+
+    // 인덱스가 없으면 미리 적재해 둔다. (재입고 예정 상품 warm-up)
+    public void ensureLoaded(Long productId) {
+        if (stringRedisTemplate.opsForZSet().score(key(productId), LOADED) == null) {
+            load(productId);
+        }
+    }
+
+    // 구독: DB에는 모아서 반영하도록 대기 요청으로 기록하고, 인덱스에는 바로 추가한다.
+    // 같은 상품의 인덱스를 적재하는 중이면 적재가 끝난 뒤에 추가한다.
+    public void subscribe(Long productId, Long userId, int tier) {
+        synchronized (lockFor(productId)) {
+            subscriptionWriteBehindBuffer.subscribe(productId, userId, tier);
+            add(productId, userId, tier);
+        }
+    }
+
+    // 구독 해제 (subscribe와 같은 순서로 기록한다)
+    public void unsubscribe(Long productId, Long userId) {
+        synchronized (lockFor(productId)) {
+            subscriptionWriteBehindBuffer.unsubscribe(productId, userId);
+            remove(productId, userId);
+        }
+    }
+
+    private void add(Long productId, Long userId, int tier) {
+        stringRedisTemplate.opsForZSet().add(key(productId), String.valueOf(userId), score(tier, userId));
+    }
+
+    private void remove(Long productId, Long userId) {
+        stringRedisTemplate.opsForZSet().remove(key(productId), String.valueOf(userId));
+    }
+
+    // DB의 구독자 목록에 아직 DB에 반영되지 않은 구독/해제 요청을 덮어써서 인덱스를 만든다.
+    // 상품 락을 잡은 채로 대기 요청을 읽고 인덱스에 쓰므로, 그 사이에 들어온 구독/해제는 적재가 끝난 뒤에 반영된다.
+    private List<TierSlice> load(Long productId) {
+        return loads.load(productId, () -> {
+            synchronized (lockFor(productId)) {
+                return subscriptionWriteBehindBuffer.withFlushLock(() -> loadLocked(productId));
+            }
+        });
+    }
+
+    // 상품 락과 flush 락 안에서 호출
+    private List<TierSlice> loadLocked(Long productId) {
+        Map<Long, Change> pending = subscriptionWriteBehindBuffer.pendingFor(productId);
+        SliceBuilder builder = new SliceBuilder();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SUBSCRIBERS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setLong(1, productId);
+            return statement;
+        }, (RowCallbackHandler) row -> {
+            long userId = row.getLong(1);
+            if (pending.isEmpty() || !pending.containsKey(userId)) {  // 대기 중인 변경이 있는 유저는 아래에서 덮어쓴다.
+                builder.append(row.getInt(2), userId);
+            }
+        });
+        List<TierSlice> slices = withPending(builder.build(), pending);
+
+        String key = key(productId);
+        int count = 0;
+        Set<TypedTuple<String>> tuples = new HashSet<>(LOAD_BATCH_SIZE * 2);
+        for (TierSlice slice : slices) {
+            for (long userId : slice.userIds()) {
+                tuples.add(new DefaultTypedTuple<>(String.valueOf(userId), score(slice.tier(), userId)));
+                if (tuples.size() == LOAD_BATCH_SIZE) {
+                    stringRedisTemplate.opsForZSet().add(key, tuples);
+                    tuples = new HashSet<>(LOAD_BATCH_SIZE * 2);
+                }
+            }
+            count += slice.size();
+        }
+        if (!tuples.isEmpty()) {
+            stringRedisTemplate.opsForZSet().add(key, tuples);
+        }
+        stringRedisTemplate.opsForZSet().add(key, LOADED, Double.NEGATIVE_INFINITY);
+        log.debug("구독자 인덱스 적재: productId={}, {}명", productId, count);
+        return slices;
+    }
+
+    // 대기 중인 구독 요청을 등급별 목록에 합친다. (대기 중인 변경은 보통 적으므로 해당 등급만 다시 정렬한다)
+    private static List<TierSlice> withPending(List<TierSlice> slices, Map<Long, Change> pending) {
+        if (pending.isEmpty()) {
+            return slices;
+        }
+        Map<Integer, LongBuffer> tiers = new TreeMap<>(Comparator.reverseOrder());
+        for (TierSlice slice : slices) {
+            tiers.computeIfAbsent(slice.tier(), tier -> new LongBuffer()).addAll(slice.userIds());
+        }
+        pending.forEach((userId, change) -> {
+            if (change.subscribed()) {
+                tiers.computeIfAbsent(change.tier(), tier -> new LongBuffer()).add(userId);
+            }
+        });
+        List<TierSlice> merged = new ArrayList<>(tiers.size());
+        tiers.forEach((tier, buffer) -> {
+            long[] userIds = buffer.toArray();
+            Arrays.sort(userIds);
+            merged.add(new TierSlice(tier, userIds));
+        });
+        return merged;
+    }
+
+    // 첫 페이지부터 마지막 score 다음을 이어서 읽는다. (score는 유저마다 다르다)
+    private List<TierSlice> readAll(byte[] key, List<Tuple> page) {
+        SliceBuilder builder = new SliceBuilder();
+        while (true) {
+            double lastScore = 0;
+            for (Tuple tuple : page) {
+                lastScore = tuple.getScore();
+                if (!Double.isInfinite(lastScore)) {  // LOADED 표시
+                    long score = (long) lastScore;
+                    int tier = tierOf(score);
+                    builder.append(tier, score + tier * TIER_SPAN);
+                }
+            }
+            if (page.size() < READ_PAGE_SIZE) {
+                return builder.build();
+            }
+            page = readPage(key, Range.rightUnbounded(Range.Bound.exclusive(lastScore)));
+        }
+    }
+
+    private List<Tuple> readPage(byte[] key, Range<Double> range) {
+        Set<Tuple> tuples = stringRedisTemplate.execute((RedisCallback<Set<Tuple>>) connection ->
+                connection.zSetCommands().zRangeByScoreWithScores(key, range, Limit.limit().count(READ_PAGE_SIZE)));
+        return tuples == null ? List.of() : new ArrayList<>(tuples);
+    }
+
+    private static List<TierSlice> after(List<TierSlice> slices, int lastTier, Long lastUserId) {
+        List<TierSlice> result = new ArrayList<>();
+        for (TierSlice slice : slices) {
+            if (slice.tier() < lastTier) {
+                result.add(slice);
+            } else if (slice.tier() == lastTier) {
+                int from = Arrays.binarySearch(slice.userIds(), lastUserId);
+                from = from >= 0 ? from + 1 : -from - 1;
+                if (from < slice.size()) {
+                    result.add(new TierSlice(slice.tier(), Arrays.copyOfRange(slice.userIds(), from, slice.size())));
+                }
+            }
+        }
+        return result;
+    }
+
+    static double score(int tier, long userId) {
+        return userId - tier * TIER_SPAN;
+    }
+
+    static int tierOf(long score) {
+        return score >= 0 ? 0 : (int) ((-score + TIER_SPAN - 1) / TIER_SPAN);
+    }
+
+    private Object lockFor(Long productId) {
+        return locks[Math.floorMod(productId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private String key(Long productId) {
+        return KEY_PREFIX + productId;
+    }
+
+    private byte[] rawKey(Long productId) {
+        return key(productId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 같은 등급의 구독자 목록 (userId 오름차순)
+    public record TierSlice(int tier, long[] userIds) {
+        public int size() {
+            return userIds.length;
+        }
+    }
+
+    // 발송 순서대로 들어오는 구독자를 등급이 바뀔 때마다 새 slice로 나눈다.
+    static final class SliceBuilder {
+        private final List<TierSlice> slices = new ArrayList<>();
+        private final LongBuffer current = new LongBuffer();
+        private int currentTier = -1;
+
+        void append(int tier, long userId) {
+            if (tier != currentTier) {
+                flush();
+                currentTier = tier;
+            }
+            current.add(userId);
+        }
+
+        List<TierSlice> build() {
+            flush();
+            return slices;
+        }
+
+        private void flush() {
+            if (current.size() > 0) {
+                slices.add(new TierSlice(currentTier, current.toArray()));
+                current.clear();
+            }
+        }
+    }
+
+    // 크기가 늘어나는 long 배열 (ArrayList<Long> 대신 사용)
+    static final class LongBuffer {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(long[] other) {
+            if (size + other.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(size * 2, size + other.length));
+            }
+            System.arraycopy(other, 0, values, size, other.length);
+            size += other.length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sparta.notificationsystem.notification.productusernotification.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductUserNotificationService {
+    private final ProductSubscriberIndex productSubscriberIndex;
+
+    // 재입고 알림 구독: 인덱스에는 바로 추가하고 DB에는 모아서 반영한다.
+    // tier가 높은 구독자가 먼저 알림을 받는다. (이미 구독 중이면 등급만 바뀐다)
+    public Mono<Boolean> subscribe(Long productId, Long userId, int tier) {
+        return Mono.fromCallable(() -> {
+            if (tier < 0 || tier > ProductSubscriberIndex.MAX_TIER) {
+                throw new IllegalArgumentException("구독자 등급은 0 이상 " + ProductSubscriberIndex.MAX_TIER + " 이하여야 합니다.");
+            }
+            productSubscriberIndex.subscribe(productId, userId, tier);
+            return true;
+        });
+    }
+
+    // 재입고 알림 구독 해제
+    public Mono<Boolean> unsubscribe(Long productId, Long userId) {
+        return Mono.fromCallable(() -> {
+            productSubscriberIndex.unsubscribe(productId, userId);
+            return true;
+        });
+    }
+}
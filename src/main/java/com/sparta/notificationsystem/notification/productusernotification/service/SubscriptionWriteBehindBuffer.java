@@ -0,0 +1,128 @@
+package com.sparta.notificationsystem.notification.productusernotification.service;
+
+import com.sparta.notificationsystem.notification.productnotification.repository.ProductUserNotificationRepository;
+import com.sparta.notificationsystem.notification.productusernotification.entity.ProductUserNotification;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// 알림 구독/해제 요청을 모아두었다가 주기적으로 MySQL에 한 번에 반영한다.
+// 같은 유저의 요청이 여러 번 들어오면 마지막 요청만 반영한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubscriptionWriteBehindBuffer {
+    private final ProductUserNotificationRepository productUserNotificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // (상품, 유저) -> 구독(등급 포함) 또는 해제
+    private final Map<Subscription, Change> pending = new ConcurrentHashMap<>();
+
+    // 인덱스 적재(DB 조회 + 반영 대기 중인 요청 덮어쓰기)와 flush가 섞이지 않도록 잡는 락
+    private final Object flushLock = new Object();
+
+    public void subscribe(Long productId, Long userId, int tier) {
+        pending.put(new Subscription(productId, userId), new Change(true, tier));
+    }
+
+    public void unsubscribe(Long productId, Long userId) {
+        pending.put(new Subscription(productId, userId), new Change(false, 0));
+    }
+
+    // 상품의 반영 대기 중인 요청 (userId -> 변경 내용)
+    public Map<Long, Change> pendingFor(Long productId) {
+        Map<Long, Change> result = new HashMap<>();
+        pending.forEach((subscription, change) -> {
+            if (subscription.productId().equals(productId)) {
+                result.put(subscription.userId(), change);
+            }
+        });
+        return result;
+    }
+
+    // flush와 겹치지 않게 작업을 실행한다. (DB에서 읽은 뒤 pending을 덮어쓰는 사이에 flush되면 요청이 사라질 수 있다)
+    public <T> T withFlushLock(Supplier<T> work) {
+        synchronized (flushLock) {
+            return work.get();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.subscription.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Map<Long, Map<Long, Integer>> subscribes = new HashMap<>();
+            Map<Long, Set<Long>> unsubscribes = new HashMap<>();
+            List<Map.Entry<Subscription, Change>> drained = new ArrayList<>();
+            for (Map.Entry<Subscription, Change> entry : pending.entrySet()) {
+                Subscription subscription = entry.getKey();
+                Change change = entry.getValue();
+                if (change.subscribed()) {
+                    subscribes.computeIfAbsent(subscription.productId(), key -> new HashMap<>())
+                            .put(subscription.userId(), change.tier());
+                } else {
+                    unsubscribes.computeIfAbsent(subscription.productId(), key -> new HashSet<>())
+                            .add(subscription.userId());
+                }
+                drained.add(Map.entry(subscription, change));
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    subscribes.forEach(this::upsert);
+                    unsubscribes.forEach(productUserNotificationRepository::deleteByProductIdAndUserIdIn);
+                });
+            } catch (Exception e) {
+                // 실패하면 pending에 남겨두고 다음 주기에 다시 시도
+                log.error("구독 변경 사항을 DB에 반영하지 못했습니다. 대기 중: {}건", pending.size(), e);
+                return;
+            }
+
+            // 반영하는 사이에 값이 바뀐 요청은 남겨서 다음 주기에 반영
+            drained.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+            log.debug("구독 변경 사항 반영: 구독 {}건, 해제 {}건", drained.stream().filter(entry -> entry.getValue().subscribed()).count(),
+                    drained.stream().filter(entry -> !entry.getValue().subscribed()).count());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    // 이미 구독 중인 유저는 등급만 갱신하고(변경 감지), 나머지는 한 번에 저장한다.
+    private void upsert(Long productId, Map<Long, Integer> tiers) {
+        Set<Long> existing = new HashSet<>();
+        productUserNotificationRepository.findByProductIdAndUserIdIn(productId, tiers.keySet())
+                .forEach(notification -> {
+                    existing.add(notification.getUserId());
+                    notification.changeTier(tiers.get(notification.getUserId()));
+                });
+        List<ProductUserNotification> newSubscriptions = tiers.entrySet().stream()
+                .filter(entry -> !existing.contains(entry.getKey()))
+                .map(entry -> new ProductUserNotification(productId, entry.getKey(), entry.getValue()))
+                .toList();
+        productUserNotificationRepository.saveAll(newSubscriptions);
+    }
+
+    private record Subscription(Long productId, Long userId) {
+    }
+
+    // 반영 대기 중인 변경 (subscribed가 false이면 tier는 의미 없음)
+    public record Change(boolean subscribed, int tier) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.sparta.notificationsystem.notification.stream;
+
+import java.nio.charset.StandardCharsets;
+
+// SSE로 내보내는 알림 이벤트 (id는 단조 증가하며 Last-Event-ID 재연결에 사용된다)
+// frame은 SSE 형식으로 한 번만 인코딩한 바이트로, 모든 구독자가 읽기 전용으로 공유한다.
+public record NotificationEvent(long id, String name, String data, byte[] frame) {
+    public static final String RESTOCK_NOTIFICATION = "restock-notification";
+
+    public static NotificationEvent of(long id, String name, String data) {
+        return new NotificationEvent(id, name, data, encode(id, name, data));
+    }
+
+    // id, event, data 필드를 SSE 규격에 맞게 인코딩한다. (여러 줄의 data는 줄마다 data: 로 나눈다)
+    private static byte[] encode(long id, String name, String data) {
+        StringBuilder frame = new StringBuilder(data.length() + 64);
+        frame.append("id:").append(id).append('\n');
+        frame.append("event:").append(name).append('\n');
+        for (String line : data.split("\r\n|\r|\n", -1)) {
+            frame.append("data:").append(line).append('\n');
+        }
+        frame.append('\n');
+        return frame.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,224 @@
+package com.sparta.notificationsystem.notification.stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 알림 이벤트에 id를 부여하고, 최근 이벤트를 링 버퍼에 보관해 재연결한 클라이언트에게 놓친 이벤트만 다시 보내준다.
+// notification.stream.redis.enabled=true 이면 Redis Stream에도 기록해서 링 버퍼보다 오래된 이벤트도 복구할 수 있다.
+// Redis Stream은 id가 마지막 id보다 커야 저장되므로, 기록은 id를 부여한 순서대로 전용 스레드 하나에서 한다.
+// 구독자마다 버퍼(notification.stream.subscriber-buffer-size)를 두고, 버퍼가 가득 찬 느린 구독자는 연결을 끊는다.
+// (클라이언트가 Last-Event-ID로 재연결하면 링 버퍼/Redis Stream에서 이어서 받는다)
+@Slf4j
+@Component
+public class NotificationEventStore {
+    private final Flux<String> restockNotificationStream;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NotificationEvent[] ring;
+    private final boolean redisEnabled;
+    private final String redisKey;
+    private final long redisMaxLength;
+    private final int subscriberBufferSize;
+    private final ThreadPoolExecutor redisWriter;   // redisEnabled일 때만 사용
+
+    // 모든 구독자에게 실시간 이벤트를 전달하는 Sink (느린 구독자는 각자의 버퍼에서 처리)
+    private final Sinks.Many<NotificationEvent> live = Sinks.many().multicast().directBestEffort();
+
+    private long lastId;    // 마지막으로 부여한 이벤트 id
+    private int size;       // 링 버퍼에 보관 중인 이벤트 수
+    private Disposable upstream;
+
+    public NotificationEventStore(Flux<String> restockNotificationStream,
+                                  StringRedisTemplate stringRedisTemplate,
+                                  @Value("${notification.stream.buffer-size:1024}") int bufferSize,
+                                  @Value("${notification.stream.redis.enabled:false}") boolean redisEnabled,
+                                  @Value("${notification.stream.redis.key:notificationStream}") String redisKey,
+                                  @Value("${notification.stream.redis.max-length:10000}") long redisMaxLength,
+                                  @Value("${notification.stream.redis.write-queue-size:10000}") int redisWriteQueueSize,
+                                  @Value("${notification.stream.subscriber-buffer-size:256}") int subscriberBufferSize) {
+        this.restockNotificationStream = restockNotificationStream;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ring = new NotificationEvent[bufferSize];
+        this.redisEnabled = redisEnabled;
+        this.redisKey = redisKey;
+        this.redisMaxLength = redisMaxLength;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.redisWriter = redisEnabled ? newRedisWriter(redisWriteQueueSize) : null;
+        // 재시작 후에도 id가 이전 값보다 커지도록 현재 시각을 시작 값으로 사용
+        this.lastId = System.currentTimeMillis();
+    }
+
+    @PostConstruct
+    void subscribeUpstream() {
+        if (redisEnabled) {
+            lastId = Math.max(lastId, findLastIdInRedis());
+        }
+        upstream = restockNotificationStream.subscribe(this::append);
+    }
+
+    @PreDestroy
+    void disposeUpstream() {
+        if (upstream != null) {
+            upstream.dispose();
+        }
+        if (redisWriter != null) {
+            redisWriter.shutdown();
+            try {
+                redisWriter.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // 새 메시지에 id를 부여해 보관하고 실시간 구독자에게 전달한다.
+    public NotificationEvent append(String message) {
+        NotificationEvent event;
+        synchronized (this) {
+            event = NotificationEvent.of(++lastId, NotificationEvent.RESTOCK_NOTIFICATION, message);
+            ring[(int) (event.id() % ring.length)] = event;
+            size = Math.min(size + 1, ring.length);
+            live.tryEmitNext(event);
+            if (redisEnabled) {
+                // 락 안에서 넘겨야 id 순서대로 기록된다. (Redis 호출 자체는 락 밖의 전용 스레드에서)
+                redisWriter.execute(() -> spillToRedis(event));
+            }
+        }
+        return event;
+    }
+
+    // lastEventId 이후의 이벤트를 먼저 보내고, 이어서 실시간 이벤트를 보낸다.
+    // lastEventId가 없으면 실시간 이벤트만 보낸다.
+    public Flux<NotificationEvent> stream(Long lastEventId) {
+        return Flux.defer(() -> {
+            Sinks.Many<NotificationEvent> pending = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<NotificationEvent>get(subscriberBufferSize).get());
+            List<NotificationEvent> buffered;
+            long oldestBufferedId;
+            Disposable liveSubscription;
+
+            // 실시간 구독과 버퍼 스냅샷을 같은 락 안에서 잡아야 그 사이의 이벤트가 빠지거나 중복되지 않는다.
+            synchronized (this) {
+                liveSubscription = live.asFlux().subscribe(event -> emitOrDisconnect(pending, event));
+                oldestBufferedId = lastId - size + 1;
+                buffered = lastEventId == null ? List.of() : readBuffer(lastEventId);
+            }
+
+            List<NotificationEvent> missed = new ArrayList<>();
+            if (lastEventId != null && lastEventId + 1 < oldestBufferedId) {
+                missed.addAll(readRedis(lastEventId, oldestBufferedId - 1));
+            }
+            missed.addAll(buffered);
+
+            // 구독자에게 쓰는 작업이 append 락을 잡은 스레드에서 일어나지 않도록 스케줄러로 넘긴다.
+            return Flux.fromIterable(missed)
+                    .concatWith(pending.asFlux())
+                    .publishOn(Schedulers.boundedElastic())
+                    .doFinally(signal -> liveSubscription.dispose());
+        });
+    }
+
+    // 구독자 버퍼가 가득 차면 이벤트를 건너뛰지 않고 버퍼에 쌓인 것까지만 보낸 뒤 연결을 끝낸다.
+    // 중간 이벤트가 빠진 채로 계속 보내면 클라이언트가 놓친 것을 알 수 없다. (append 락 안에서 호출)
+    private void emitOrDisconnect(Sinks.Many<NotificationEvent> pending, NotificationEvent event) {
+        if (pending.tryEmitNext(event) == Sinks.EmitResult.FAIL_OVERFLOW) {
+            log.warn("SSE 구독자 버퍼({})가 가득 차서 연결을 끊습니다. eventId={}", subscriberBufferSize, event.id());
+            pending.tryEmitComplete();
+        }
+    }
+
+    // 링 버퍼에서 lastEventId 이후의 이벤트를 순서대로 읽는다. (락 안에서 호출)
+    private List<NotificationEvent> readBuffer(long lastEventId) {
+        long from = Math.max(lastEventId + 1, lastId - size + 1);
+        List<NotificationEvent> events = new ArrayList<>();
+        for (long id = from; id <= lastId; id++) {
+            events.add(ring[(int) (id % ring.length)]);
+        }
+        return events;
+    }
+
+    // 링 버퍼에서 밀려난 구간(lastEventId, toId]을 Redis Stream에서 읽는다.
+    private List<NotificationEvent> readRedis(long lastEventId, long toId) {
+        if (!redisEnabled) {
+            log.warn("링 버퍼보다 오래된 이벤트는 복구할 수 없습니다. lastEventId={}", lastEventId);
+            return List.of();
+        }
+        try {
+            Range<String> range = Range.closed(
+                    RecordId.of(lastEventId + 1, 0).getValue(),
+                    RecordId.of(toId, 0).getValue());
+            List<MapRecord<String, String, String>> records =
+                    stringRedisTemplate.<String, String>opsForStream().range(redisKey, range);
+            if (records == null) {
+                return List.of();
+            }
+            return records.stream()
+                    .map(record -> NotificationEvent.of(
+                            record.getId().getTimestamp(),
+                            record.getValue().get("name"),
+                            record.getValue().get("data")))
+                    .toList();
+        } catch (Exception e) {
+            log.error("Redis Stream에서 이벤트를 읽지 못했습니다.", e);
+            return List.of();
+        }
+    }
+
+    // Redis Stream에 id를 그대로 레코드 id로 사용해서 저장하고 길이를 제한한다.
+    private void spillToRedis(NotificationEvent event) {
+        try {
+            MapRecord<String, String, String> record = StreamRecords.newRecord()
+                    .in(redisKey)
+                    .withId(RecordId.of(event.id(), 0))
+                    .ofMap(Map.of("name", event.name(), "data", event.data()));
+            stringRedisTemplate.opsForStream().add(record);
+            stringRedisTemplate.opsForStream().trim(redisKey, redisMaxLength, true);
+        } catch (Exception e) {
+            log.error("Redis Stream에 이벤트를 저장하지 못했습니다. id={}", event.id(), e);
+        }
+    }
+
+    // Redis Stream 기록 전용 스레드. 대기열이 가득 차면 (Redis가 느리거나 끊긴 경우) 기록을 버린다.
+    // 버려진 이벤트는 링 버퍼에만 남고, 순서는 그대로 유지된다.
+    private ThreadPoolExecutor newRedisWriter(int queueSize) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                task -> {
+                    Thread thread = new Thread(task, "notification-stream-redis-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> log.error("Redis Stream 기록 대기열({})이 가득 차서 이벤트를 버립니다.", queueSize));
+    }
+
+    // 재시작 시 Redis Stream의 마지막 id부터 이어서 부여한다.
+    private long findLastIdInRedis() {
+        try {
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .reverseRange(redisKey, Range.unbounded(), Limit.limit().count(1));
+            return (records == null || records.isEmpty()) ? 0L : records.get(0).getId().getTimestamp();
+        } catch (Exception e) {
+            log.error("Redis Stream의 마지막 id를 읽지 못했습니다.", e);
+            return 0L;
+        }
+    }
+}
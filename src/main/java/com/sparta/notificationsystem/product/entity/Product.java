@@ -19,13 +19,17 @@ public class Product {
     private Integer totalRestockRound;  // 총 재입고 회차 수
     private String name;    // 상품 이름
     private Integer stock;  // 재고
-    public void incrementRestockRound() {
-        this.totalRestockRound++;
-    }
+    private int notificationUrgency;    // 재입고 알림 긴급도 (클수록 다른 상품보다 먼저 발송, 기본 0)
+    private boolean restockExpected;    // 곧 재입고될 상품 (캐시와 구독자 인덱스를 미리 적재)
 
     public Product(Integer totalRestockRound, String name, Integer stock) {
         this.totalRestockRound = totalRestockRound;
         this.name = name;
         this.stock = stock;
     }
+
+    public Product(Long id, Integer totalRestockRound, String name, Integer stock) {
+        this(totalRestockRound, name, stock);
+        this.id = id;
+    }
 }
@@ -2,6 +2,34 @@ package com.sparta.notificationsystem.product.repository;
 
 import com.sparta.notificationsystem.product.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    // 재입고 예정으로 표시된 상품 ID (warm-up 대상)
+    @Query("SELECT p.id FROM Product p WHERE p.restockExpected = true")
+    List<Long> findIdsByRestockExpectedTrue();
+
+    // 재입고 회차를 DB에서 바로 1 증가시킨다. (엔티티를 읽고 쓰지 않아서 동시에 증가해도 유실되지 않는다)
+    // 회차가 아직 없는(NULL) 상품은 0에서 시작한다. (NULL + 1은 NULL이라 증가하지 않는다)
+    @Modifying
+    @Query("update Product p set p.totalRestockRound = coalesce(p.totalRestockRound, 0) + 1 where p.id = :productId")
+    int incrementRestockRound(@Param("productId") Long productId);
+
+    // 알림 긴급도만 바꾼다. (엔티티 전체를 저장하면 그 사이에 증가한 재입고 회차를 덮어쓸 수 있다)
+    @Modifying
+    @Query("update Product p set p.notificationUrgency = :urgency where p.id = :productId")
+    int updateNotificationUrgency(@Param("productId") Long productId, @Param("urgency") int urgency);
+
+    // 재입고 예정 표시만 바꾼다.
+    @Modifying
+    @Query("update Product p set p.restockExpected = :restockExpected where p.id = :productId")
+    int updateRestockExpected(@Param("productId") Long productId, @Param("restockExpected") boolean restockExpected);
+
+    // 같은 트랜잭션에서 증가시킨 회차를 읽는다. (UPDATE가 잡은 행 잠금이 커밋까지 유지된다)
+    @Query("select p.totalRestockRound from Product p where p.id = :productId")
+    Integer findTotalRestockRoundById(@Param("productId") Long productId);
 }
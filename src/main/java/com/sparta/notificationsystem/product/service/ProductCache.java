@@ -0,0 +1,141 @@
+package com.sparta.notificationsystem.product.service;
+
+import com.sparta.notificationsystem.global.cache.SingleFlight;
+import com.sparta.notificationsystem.global.resilience.DependencyGuards;
+import com.sparta.notificationsystem.product.entity.Product;
+import com.sparta.notificationsystem.product.repository.ProductRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 상품 캐시 (product:{id})
+// 1. 캐시가 없으면 상품별로 한 요청만 DB에서 읽고 나머지는 그 결과를 기다린다. (single-flight)
+// 2. 만료 전에 확률적으로 미리 갱신한다. (XFetch: 불러오는 데 오래 걸린 값일수록, 만료가 가까울수록 갱신 확률이 높다)
+//    갱신은 백그라운드에서 한 번만 하고, 그동안은 기존 값을 그대로 사용한다.
+// Redis를 쓸 수 없으면 캐시를 건너뛰고 DB에서 읽는다. (degraded)
+@Slf4j
+@Component
+public class ProductCache {
+    private static final String KEY_PREFIX = "product:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ProductRepository productRepository;
+    private final DependencyGuards guards;
+    private final Duration ttl;
+    private final double beta;
+    private final SingleFlight<Long, Optional<Product>> loads = new SingleFlight<>();
+
+    public ProductCache(RedisTemplate<String, Object> redisTemplate,
+                        ProductRepository productRepository,
+                        DependencyGuards guards,
+                        @Value("${notification.cache.product.ttl-seconds:600}") long ttlSeconds,
+                        @Value("${notification.cache.product.early-refresh-beta:1.0}") double beta) {
+        this.redisTemplate = redisTemplate;
+        this.productRepository = productRepository;
+        this.guards = guards;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.beta = beta;
+    }
+
+    public Optional<Product> get(Long productId) {
+        Object cached;
+        try {
+            cached = guards.redis().execute(() -> redisTemplate.opsForValue().get(key(productId)));
+        } catch (RuntimeException e) {
+            log.warn("Redis 상품 캐시 조회 실패, DB에서 조회합니다: productId={}", productId, e);
+            return loads.load(productId, () -> findInDB(productId));
+        }
+
+        if (cached instanceof CachedProduct entry) {
+            if (shouldRefreshEarly(entry)) {
+                refreshInBackground(productId);
+            }
+            return Optional.of(entry.getProduct());
+        }
+        if (cached instanceof Product product) {
+            return Optional.of(product);    // 만료 정보 없이 저장된 값 (이전 형식)
+        }
+        return loads.load(productId, () -> load(productId));
+    }
+
+    // 변경된 상품을 캐시에 저장한다. (실패해도 다음 조회 때 DB에서 다시 불러온다)
+    public void put(Product product, long loadMillis) {
+        CachedProduct entry = new CachedProduct(product, loadMillis, System.currentTimeMillis() + ttl.toMillis());
+        try {
+            guards.redis().execute(() -> {
+                redisTemplate.opsForValue().set(key(product.getId()), entry, ttl);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Redis 상품 캐시 저장 실패: productId={}", product.getId(), e);
+        }
+    }
+
+    public void put(Product product) {
+        put(product, 0);
+    }
+
+    // 캐시를 지운다. 다음 조회 때 DB에서 한 번만 다시 불러온다. (실패하면 TTL이 지나야 갱신된다)
+    public void evict(Long productId) {
+        try {
+            guards.redis().execute(() -> redisTemplate.delete(key(productId)));
+        } catch (RuntimeException e) {
+            log.warn("Redis 상품 캐시 삭제 실패: productId={}", productId, e);
+        }
+    }
+
+    // DB에서 읽어서 캐시에 저장한다. 걸린 시간은 미리 갱신할 확률을 정하는 데 쓴다.
+    private Optional<Product> load(Long productId) {
+        long startedAt = System.currentTimeMillis();
+        Optional<Product> product = findInDB(productId);
+        product.ifPresent(found -> put(found, System.currentTimeMillis() - startedAt));
+        return product;
+    }
+
+    private Optional<Product> findInDB(Long productId) {
+        return guards.mysql().execute(() -> productRepository.findById(productId));
+    }
+
+    // XFetch: now - delta * beta * ln(rand) >= expiry 이면 미리 갱신 (ln(rand) <= 0)
+    private boolean shouldRefreshEarly(CachedProduct entry) {
+        double random = ThreadLocalRandom.current().nextDouble();
+        long now = System.currentTimeMillis();
+        return now - entry.getDeltaMillis() * beta * Math.log(random) >= entry.getExpiresAtMillis();
+    }
+
+    private void refreshInBackground(Long productId) {
+        if (loads.isLoading(productId)) {
+            return;
+        }
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                loads.load(productId, () -> load(productId));
+            } catch (RuntimeException e) {
+                log.warn("상품 캐시 미리 갱신 실패: productId={}", productId, e);
+            }
+        });
+    }
+
+    private String key(Long productId) {
+        return KEY_PREFIX + productId;
+    }
+
+    // 상품과 미리 갱신에 필요한 정보 (불러오는 데 걸린 시간, 만료 시각)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CachedProduct {
+        private Product product;
+        private long deltaMillis;
+        private long expiresAtMillis;
+    }
+}
@@ -0,0 +1,54 @@
+package com.sparta.notificationsystem.product.service;
+
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex;
+import com.sparta.notificationsystem.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 재입고 예정으로 표시된 상품의 상품 캐시와 구독자 인덱스를 미리 적재한다.
+// 재입고 알림 요청이 몰렸을 때 캐시가 비어 있어서 모든 요청이 DB로 가는 일을 줄인다.
+// 애플리케이션 시작 시 한 번, 이후 주기적으로 실행한다. (이미 적재된 상품은 건너뛴다)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RestockWarmUpJob {
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductSubscriberIndex productSubscriberIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        warmUp();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.warm-up.interval-ms:300000}",
+            initialDelayString = "${notification.warm-up.interval-ms:300000}")
+    public void warmUp() {
+        List<Long> productIds;
+        try {
+            productIds = productRepository.findIdsByRestockExpectedTrue();
+        } catch (RuntimeException e) {
+            log.warn("재입고 예정 상품 조회 실패, 다음 주기에 다시 시도합니다.", e);
+            return;
+        }
+        int warmed = 0;
+        for (Long productId : productIds) {
+            try {
+                productCache.get(productId);
+                productSubscriberIndex.ensureLoaded(productId);
+                warmed++;
+            } catch (RuntimeException e) {
+                log.warn("재입고 예정 상품 warm-up 실패: productId={}", productId, e);
+            }
+        }
+        if (!productIds.isEmpty()) {
+            log.info("재입고 예정 상품 warm-up: {}/{}개", warmed, productIds.size());
+        }
+    }
+}
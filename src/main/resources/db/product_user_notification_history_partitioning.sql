@@ -0,0 +1,24 @@
+-- product_user_notification_history 월별 RANGE 파티셔닝 (MySQL 8+)
+-- 한 번만 실행한다. 이후 파티션 추가/삭제는 NotificationHistoryRetentionJob이 처리한다.
+-- 파티션 키(created_at)는 모든 unique key에 포함되어야 하므로 기본 키를 (product_id, restock_round, user_id, created_at)으로 둔다.
+-- 그래서 같은 (상품, 회차, 유저)가 재전송으로 두 번 저장될 수 있다. (조회/요약/아카이브는 distinct user_id로 센다)
+-- 회차별 조회는 기본 키의 앞부분 (product_id, restock_round)로 범위 조회된다.
+
+-- 이전 IDENTITY 기본 키(id)를 없앤다. AUTO_INCREMENT 컬럼은 key에 포함되어야 하므로(1075) 먼저 AUTO_INCREMENT를 뗀다.
+ALTER TABLE product_user_notification_history
+    MODIFY COLUMN id BIGINT NOT NULL;
+
+ALTER TABLE product_user_notification_history
+    DROP PRIMARY KEY,
+    DROP COLUMN id,
+    ADD PRIMARY KEY (product_id, restock_round, user_id, created_at);
+-- 기본 키의 앞부분과 같은 (product_id, restock_round, user_id) 인덱스가 있다면 필요 없으므로 삭제한다.
+-- ALTER TABLE product_user_notification_history DROP INDEX idx_product_user_notification_history_round_user;
+
+-- pmax 하나로 시작한다. 월 파티션(이번 달부터 notification.history.future-partitions 달 뒤까지)은
+-- NotificationHistoryRetentionJob이 애플리케이션 시작 시 pmax를 나눠서 만든다. (배포 시점에 맞춰 값을 고칠 필요가 없다)
+-- 기존 데이터는 이번 달 파티션으로 들어가고, 보관 기간이 지나면 그 파티션과 함께 삭제된다.
+ALTER TABLE product_user_notification_history
+    PARTITION BY RANGE COLUMNS (created_at) (
+        PARTITION pmax VALUES LESS THAN (MAXVALUE)
+    );
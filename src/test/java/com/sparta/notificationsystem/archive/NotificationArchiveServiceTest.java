@@ -0,0 +1,82 @@
+package com.sparta.notificationsystem.archive;
+
+import com.sparta.notificationsystem.notification.archive.NotificationArchiveService;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationRoundSummaryRepository;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductUserNotificationHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NotificationArchiveServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ProductUserNotificationHistoryRepository productUserNotificationHistoryRepository;
+    private NotificationArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        productUserNotificationHistoryRepository = mock(ProductUserNotificationHistoryRepository.class);
+        when(productUserNotificationHistoryRepository.findUserIdsAfter(anyLong(), anyInt(), anyLong(), any()))
+                .thenReturn(List.of(1L, 2L, 3L));
+        // reader는 최근 2개 회차까지만 보관한다.
+        archiveService = new NotificationArchiveService(productUserNotificationHistoryRepository,
+                mock(ProductNotificationRoundSummaryRepository.class), tempDir.toString(), 100, 2);
+    }
+
+    @Test
+    @DisplayName("같은 회차는 한 번 연 reader를 다시 쓰고, 열린 reader 수는 캐시 크기를 넘지 않는다")
+    void query_ReusesReadersWithinBound() throws Exception {
+        // given
+        for (int round = 1; round <= 3; round++) {
+            archiveService.exportRound(1L, round);
+        }
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            assertEquals(3L, archiveService.countNotifiedUsers(1L, 1).block());
+            assertTrue(archiveService.isNotified(1L, 1, 2L).block());
+        }
+
+        // then
+        assertEquals(1, archiveService.getOpenArchives());
+
+        // when
+        archiveService.countNotifiedUsers(1L, 2).block();
+        archiveService.countNotifiedUsers(1L, 3).block();
+
+        // then
+        assertEquals(2, archiveService.getOpenArchives());
+        assertEquals(3L, archiveService.countNotifiedUsers(1L, 1).block());  // 빠진 회차는 다시 연다.
+    }
+
+    @Test
+    @DisplayName("회차를 다시 내보내면 이전 파일의 reader를 버리고 새 파일을 읽는다")
+    void exportRound_Again_InvalidatesCachedReader() throws Exception {
+        // given
+        archiveService.exportRound(1L, 1);
+        assertEquals(3L, archiveService.countNotifiedUsers(1L, 1).block());
+        when(productUserNotificationHistoryRepository.findUserIdsAfter(eq(1L), eq(1), anyLong(), any()))
+                .thenReturn(List.of(1L, 2L, 3L, 4L));
+
+        // when
+        archiveService.exportRound(1L, 1);
+
+        // then
+        assertEquals(4L, archiveService.countNotifiedUsers(1L, 1).block());
+        assertTrue(archiveService.isNotified(1L, 1, 4L).block());
+    }
+}
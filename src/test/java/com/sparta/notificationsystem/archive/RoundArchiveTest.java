@@ -0,0 +1,51 @@
+package com.sparta.notificationsystem.archive;
+
+import com.sparta.notificationsystem.notification.archive.RoundArchiveReader;
+import com.sparta.notificationsystem.notification.archive.RoundArchiveWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoundArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("아카이브에 쓴 유저 목록을 여러 블록에 걸쳐 그대로 조회할 수 있다")
+    void writeAndRead_RoundTrip() throws Exception {
+        // given
+        Path path = tempDir.resolve("round-3.ntfa");
+        try (RoundArchiveWriter writer = new RoundArchiveWriter(path, 7L, 3)) {
+            for (long userId = 1; userId <= 10_000; userId++) {
+                writer.append(userId * 3);
+            }
+        }
+
+        // when
+        RoundArchiveReader reader = new RoundArchiveReader(path);
+
+        // then
+        assertEquals(7L, reader.productId());
+        assertEquals(3, reader.restockRound());
+        assertEquals(10_000, reader.count());
+        assertTrue(reader.contains(3));
+        assertTrue(reader.contains(4096 * 3));
+        assertTrue(reader.contains(30_000));
+        assertFalse(reader.contains(4));
+        assertFalse(reader.contains(30_003));
+    }
+
+    @Test
+    @DisplayName("오름차순이 아닌 userId는 추가할 수 없다")
+    void append_RejectsUnorderedUserId() throws Exception {
+        try (RoundArchiveWriter writer = new RoundArchiveWriter(tempDir.resolve("round-1.ntfa"), 1L, 1)) {
+            writer.append(10);
+            assertThrows(IllegalArgumentException.class, () -> writer.append(10));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.sparta.notificationsystem.cache;
+
+import com.sparta.notificationsystem.global.resilience.DependencyGuards;
+import com.sparta.notificationsystem.product.entity.Product;
+import com.sparta.notificationsystem.product.repository.ProductRepository;
+import com.sparta.notificationsystem.product.service.ProductCache;
+import com.sparta.notificationsystem.product.service.ProductCache.CachedProduct;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ProductCacheTest {
+    private static final Long PRODUCT_ID = 1L;
+    private static final String KEY = "product:" + PRODUCT_ID;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+    @Mock
+    private ProductRepository productRepository;
+
+    private final DependencyGuards guards = new DependencyGuards(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), 2000, 500, 5000);
+    private final Product product = new Product(PRODUCT_ID, 1, "상품", 10);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("캐시가 없으면 DB에서 읽고, 불러온 시간과 만료 시각을 함께 저장한다")
+    void get_Miss_LoadsAndStoresEntry() {
+        // given
+        ProductCache productCache = new ProductCache(redisTemplate, productRepository, guards, 600, 1.0);
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+        long before = System.currentTimeMillis();
+
+        // when
+        Optional<Product> loaded = productCache.get(PRODUCT_ID);
+
+        // then
+        assertThat(loaded).contains(product);
+        ArgumentCaptor<Object> stored = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations).set(eq(KEY), stored.capture(), eq(Duration.ofSeconds(600)));
+        CachedProduct entry = (CachedProduct) stored.getValue();
+        assertThat(entry.getProduct()).isEqualTo(product);
+        assertThat(entry.getDeltaMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(entry.getExpiresAtMillis()).isBetween(before + 600_000, System.currentTimeMillis() + 600_000);
+    }
+
+    @Test
+    @DisplayName("만료가 멀고 불러오는 데 걸린 시간이 짧으면 미리 갱신하지 않는다")
+    void get_FarFromExpiry_DoesNotRefresh() {
+        // given
+        ProductCache productCache = new ProductCache(redisTemplate, productRepository, guards, 600, 1.0);
+        when(valueOperations.get(KEY)).thenReturn(new CachedProduct(product, 1, System.currentTimeMillis() + 600_000));
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            assertThat(productCache.get(PRODUCT_ID)).contains(product);
+        }
+
+        // then
+        verify(productRepository, after(200).never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("만료 시각이 지난 값은 그대로 돌려주고 백그라운드에서 갱신한다 (beta가 0이어도)")
+    void get_Expired_RefreshesInBackground() {
+        // given
+        ProductCache productCache = new ProductCache(redisTemplate, productRepository, guards, 600, 0);
+        Product refreshed = new Product(PRODUCT_ID, 2, "상품", 10);
+        when(valueOperations.get(KEY)).thenReturn(new CachedProduct(product, 0, System.currentTimeMillis() - 1));
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(refreshed));
+
+        // when
+        Optional<Product> cached = productCache.get(PRODUCT_ID);
+
+        // then
+        assertThat(cached).contains(product);   // 갱신을 기다리지 않는다.
+        verify(valueOperations, timeout(1000)).set(eq(KEY), argThat(entry ->
+                entry instanceof CachedProduct cachedProduct && cachedProduct.getProduct() == refreshed), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("미리 갱신 중에 들어온 요청은 갱신을 다시 시작하지 않고 기존 값을 쓴다")
+    void get_RefreshInProgress_RefreshesOnce() throws InterruptedException {
+        // given
+        ProductCache productCache = new ProductCache(redisTemplate, productRepository, guards, 600, 1.0);
+        when(valueOperations.get(KEY)).thenReturn(new CachedProduct(product, 0, System.currentTimeMillis() - 1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.findById(PRODUCT_ID)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(1, TimeUnit.SECONDS);  // DB 조회가 느린 상황
+            return Optional.of(product);
+        });
+
+        // when
+        assertThat(productCache.get(PRODUCT_ID)).contains(product);
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();   // 첫 갱신이 DB를 읽는 중
+        for (int i = 0; i < 10; i++) {
+            assertThat(productCache.get(PRODUCT_ID)).contains(product);
+        }
+        release.countDown();
+
+        // then
+        verify(valueOperations, timeout(1000)).set(eq(KEY), any(CachedProduct.class), any(Duration.class));
+        verify(productRepository, after(200).times(1)).findById(PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("만료 정보 없이 저장된 이전 형식(Product)도 그대로 읽고, 갱신하지 않는다")
+    void get_LegacyEntry_ReturnsProduct() {
+        // given
+        ProductCache productCache = new ProductCache(redisTemplate, productRepository, guards, 600, 1.0);
+        when(valueOperations.get(KEY)).thenReturn(product);
+
+        // when
+        Optional<Product> cached = productCache.get(PRODUCT_ID);
+
+        // then
+        assertThat(cached).contains(product);
+        verify(productRepository, after(200).never()).findById(any());
+        verify(valueOperations, never()).set(any(), any(), any(Duration.class));
+    }
+}
@@ -0,0 +1,81 @@
+package com.sparta.notificationsystem.cache;
+
+import com.sparta.notificationsystem.global.cache.SingleFlight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    @Test
+    @DisplayName("같은 key를 동시에 불러오면 loader는 한 번만 실행되고 모두 같은 결과를 받는다")
+    void load_ConcurrentCallers_ShareOneLoad() throws Exception {
+        // given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // when
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.load(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "상품";
+            })));
+            loading.await(1, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> singleFlight.load(1L, () -> {
+                    loads.incrementAndGet();
+                    return "다른 값";
+                })));
+            }
+            Thread.sleep(100);  // 나머지 요청이 로딩 중인 결과를 기다리도록
+            release.countDown();
+
+            // then
+            for (Future<String> result : results) {
+                assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("상품");
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(singleFlight.isLoading(1L)).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("loader가 실패하면 예외를 전달하고 다음 요청은 다시 불러온다")
+    void load_LoaderFails_NextCallReloads() {
+        // given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+        // when, then
+        assertThatThrownBy(() -> singleFlight.load(1L, () -> {
+            throw new IllegalStateException("DB 장애");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.load(1L, () -> "상품")).isEqualTo("상품");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sparta.notificationsystem.channel;
+
+import com.sparta.notificationsystem.notification.channel.DeliveryBatch;
+import com.sparta.notificationsystem.notification.channel.DeliveryResult;
+import com.sparta.notificationsystem.notification.channel.ExternalNotificationChannel;
+import com.sparta.notificationsystem.notification.channel.NotificationDigestBuffer;
+import com.sparta.notificationsystem.notification.channel.NotificationDigestFlushJob;
+import com.sparta.notificationsystem.notification.channel.NotificationDispatcher;
+import com.sparta.notificationsystem.notification.channel.SseNotificationChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NotificationDigestTest {
+
+    private final List<DeliveryBatch> webhookRequests = new CopyOnWriteArrayList<>();
+    private final ExternalNotificationChannel webhook = new ExternalNotificationChannel("webhook", 100, 1, (channel, batch) -> {
+        webhookRequests.add(batch);
+        return Mono.just(batch.userIds().stream().map(DeliveryResult::delivered).toList());
+    });
+    private final Sinks.Many<String> sink = Sinks.many().replay().all();
+    private final NotificationDigestBuffer digestBuffer = new NotificationDigestBuffer(true, 60000, new SimpleMeterRegistry());
+    private final NotificationDispatcher dispatcher = new NotificationDispatcher(
+            List.of(new SseNotificationChannel(sink, 64, 1024), webhook), new SimpleMeterRegistry(), digestBuffer);
+    private final NotificationDigestFlushJob flushJob = new NotificationDigestFlushJob(digestBuffer, dispatcher, 8, 30000);
+
+    @Test
+    @DisplayName("digest 모드에서는 유저별 채널 발송을 모아 두고, 접수된 유저를 바로 발송 결과로 돌려준다")
+    void dispatch_Digest_DefersPerUserChannels() {
+        // when & then
+        StepVerifier.create(dispatcher.dispatch(new DeliveryBatch(1L, 1, "상품 1 재입고", List.of(1L, 2L))))
+                .expectNext(List.of(1L, 2L))
+                .verifyComplete();
+        assertThat(webhookRequests).isEmpty();
+        assertThat(digestBuffer.getPendingUsers()).isEqualTo(2);
+        // 브로드캐스트 채널(SSE)은 바로 보낸다.
+        StepVerifier.create(sink.asFlux().take(1))
+                .expectNext("상품 1 재입고")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("window 동안 여러 상품이 재입고되어도 유저는 합쳐진 알림 하나만 받는다")
+    void flush_CombinesProductsPerUser() {
+        // given
+        dispatcher.dispatch(new DeliveryBatch(2L, 1, "상품 2 재입고", List.of(1L, 2L))).block();
+        dispatcher.dispatch(new DeliveryBatch(1L, 1, "상품 1 재입고", List.of(1L))).block();
+        dispatcher.dispatch(new DeliveryBatch(1L, 1, "상품 1 재입고", List.of(1L))).block();  // 같은 회차가 다시 들어와도 한 번만
+
+        // when
+        flushJob.flushAll();
+
+        // then
+        assertThat(digestBuffer.getPendingUsers()).isZero();
+        assertThat(webhookRequests).hasSize(2);
+        assertThat(webhookRequests).anySatisfy(batch -> {
+            assertThat(batch.userIds()).containsExactly(1L);
+            assertThat(batch.message()).isEqualTo("재입고 알림 2건\n상품 1 재입고\n상품 2 재입고");
+        });
+        assertThat(webhookRequests).anySatisfy(batch -> {
+            assertThat(batch.userIds()).containsExactly(2L);
+            assertThat(batch.message()).isEqualTo("상품 2 재입고");
+        });
+    }
+
+    @Test
+    @DisplayName("window가 지나지 않은 알림은 보내지 않는다")
+    void flushDue_KeepsUsersWithinWindow() {
+        // given
+        dispatcher.dispatch(new DeliveryBatch(1L, 1, "상품 1 재입고", List.of(1L))).block();
+
+        // when
+        flushJob.flushDue();
+
+        // then
+        assertThat(webhookRequests).isEmpty();
+        assertThat(digestBuffer.drainDue(System.currentTimeMillis() + 60000)).hasSize(1);
+    }
+}
@@ -0,0 +1,155 @@
+package com.sparta.notificationsystem.channel;
+
+import com.sparta.notificationsystem.notification.channel.DeliveryBatch;
+import com.sparta.notificationsystem.notification.channel.DeliveryOutcome;
+import com.sparta.notificationsystem.notification.channel.DeliveryResult;
+import com.sparta.notificationsystem.notification.channel.ExternalNotificationChannel;
+import com.sparta.notificationsystem.notification.channel.FakeNotificationProvider;
+import com.sparta.notificationsystem.notification.channel.NotificationDigestBuffer;
+import com.sparta.notificationsystem.notification.channel.NotificationDispatcher;
+import com.sparta.notificationsystem.notification.channel.SseNotificationChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NotificationDispatcherTest {
+
+    private final DeliveryBatch batch = new DeliveryBatch(1L, 1, "재입고 알림", List.of(1L, 2L, 3L, 4L, 5L));
+
+    @Test
+    @DisplayName("채널의 maxBatchSize 크기로 나눠서 bulk 요청을 보낸다")
+    void dispatch_SplitsIntoProviderBatches() {
+        // given
+        FakeNotificationProvider provider = new FakeNotificationProvider(0, 0);
+        NotificationDispatcher dispatcher = new NotificationDispatcher(
+                List.of(new ExternalNotificationChannel("push", 2, 1, provider)), new SimpleMeterRegistry(), digestOff());
+
+        // when & then
+        StepVerifier.create(dispatcher.dispatch(batch))
+                .expectNext(List.of(1L, 2L, 3L, 4L, 5L))
+                .verifyComplete();
+        assertThat(provider.getRequests()).isEqualTo(3);
+        assertThat(provider.getRecipients()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("모든 채널에서 실패한 유저만 발송 결과에서 빠진다")
+    void dispatch_ReturnsUsersDeliveredByAnyChannel() {
+        // given
+        ExternalNotificationChannel email = new ExternalNotificationChannel("email", 10, 1, (channel, b) ->
+                Mono.just(b.userIds().stream()
+                        .map(userId -> userId % 2 == 0 ? DeliveryResult.delivered(userId) : DeliveryResult.failed(userId, "반송"))
+                        .toList()));
+        ExternalNotificationChannel webhook = new ExternalNotificationChannel("webhook", 10, 1, (channel, b) ->
+                Mono.just(List.of(DeliveryResult.delivered(1L))));  // 결과가 없는 유저는 실패
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(email, webhook), new SimpleMeterRegistry(), digestOff());
+
+        // when & then
+        StepVerifier.create(dispatcher.dispatch(batch))
+                .expectNext(List.of(1L, 2L, 4L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("채널 호출이 실패하면 batch의 유저 모두 실패로 본다")
+    void dispatch_ProviderError_MarksBatchFailed() {
+        // given
+        ExternalNotificationChannel webhook = new ExternalNotificationChannel("webhook", 10, 1, (channel, b) ->
+                Mono.error(new IllegalStateException("제공자 장애")));
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(webhook), new SimpleMeterRegistry(), digestOff());
+
+        // when & then
+        StepVerifier.create(dispatcher.dispatch(batch))
+                .expectNext(List.of())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("채널 호출은 채널의 maxConcurrency를 넘지 않고, 채널별 동시 실행 메트릭으로 남는다")
+    void dispatch_BoundsConcurrencyPerChannel() {
+        // given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ExternalNotificationChannel push = new ExternalNotificationChannel("push", 1, 2, (channel, b) -> Mono.defer(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(20)).thenReturn(b.userIds().stream().map(DeliveryResult::delivered).toList());
+                })
+                .doOnTerminate(inFlight::decrementAndGet));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(push), meterRegistry, digestOff());
+
+        // when & then
+        StepVerifier.create(dispatcher.dispatch(batch))
+                .expectNext(List.of(1L, 2L, 3L, 4L, 5L))
+                .verifyComplete();
+        assertThat(maxInFlight.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("notification.channel.concurrency.limit").tag("channel", "push").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.find("notification.fanout.concurrency.limit").gauge()).isNull();
+    }
+
+    @Test
+    @DisplayName("모든 유저가 받으면 batch의 목록을 그대로 돌려주고, 브로드캐스트 채널은 batch를 나누지 않고 결과 하나로 답한다")
+    void dispatch_Broadcast_DeliversWholeBatchAtOnce() {
+        // given
+        List<DeliveryBatch> delivered = new ArrayList<>();
+        SseNotificationChannel sse = new SseNotificationChannel(Sinks.many().replay().all(), 64, 1024) {
+            @Override
+            public Mono<DeliveryOutcome> deliver(DeliveryBatch b) {
+                delivered.add(b);
+                return super.deliver(b);
+            }
+        };
+        NotificationDispatcher dispatcher = new NotificationDispatcher(List.of(sse), new SimpleMeterRegistry(), digestOff());
+
+        // when
+        List<Long> result = dispatcher.dispatch(batch).block();
+
+        // then
+        assertThat(result).isSameAs(batch.userIds());
+        assertThat(delivered).containsExactly(batch);
+        assertThat(sse.deliver(batch).block().failedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("제공자가 결과를 요청 순서와 다르게 돌려줘도 유저별로 맞춰서 실패 위치를 정한다")
+    void outcome_ResultsOutOfOrder_MatchesByUserId() {
+        // when
+        DeliveryOutcome outcome = DeliveryOutcome.of(List.of(1L, 2L, 3L), List.of(
+                DeliveryResult.delivered(3L), DeliveryResult.failed(1L, "반송"), DeliveryResult.delivered(2L)));
+
+        // then
+        assertThat(outcome.failedCount()).isEqualTo(1);
+        assertThat(outcome.isDelivered(0)).isFalse();
+        assertThat(outcome.isDelivered(1)).isTrue();
+        assertThat(outcome.isDelivered(2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("SSE 채널은 최근 상품의 발행 기록만 남긴다")
+    void sse_KeepsBoundedEmittedHistory() {
+        // given
+        SseNotificationChannel sse = new SseNotificationChannel(Sinks.many().multicast().directBestEffort(), 64, 2);
+
+        // when
+        for (long productId = 1; productId <= 5; productId++) {
+            sse.deliver(new DeliveryBatch(productId, 1, "재입고 알림", List.of(1L))).block();
+        }
+
+        // then
+        assertThat(sse.getTrackedProducts()).isEqualTo(2);
+    }
+
+    private static NotificationDigestBuffer digestOff() {
+        return new NotificationDigestBuffer(false, 60000, new SimpleMeterRegistry());
+    }
+}
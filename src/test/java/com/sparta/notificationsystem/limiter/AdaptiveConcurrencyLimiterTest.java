@@ -0,0 +1,77 @@
+package com.sparta.notificationsystem.limiter;
+
+import com.sparta.notificationsystem.global.limiter.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("limit을 넘는 작업은 대기했다가 실행된다")
+    void execute_NeverExceedsLimit() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 2, 2, 1_000, 0.5, new SimpleMeterRegistry());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // when
+        // 작업이 끝나는 시점(doOnTerminate)에 감소시킨다. (limiter는 그 뒤에 허가를 반납하고 다음 작업을 시작한다)
+        Flux<Integer> result = Flux.range(0, 10)
+                .flatMap(i -> limiter.execute(Mono.delay(Duration.ofMillis(10))
+                        .doOnSubscribe(s -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            maxInFlight.accumulateAndGet(limiter.getInFlight(), Math::max);
+                        })
+                        .doOnTerminate(running::decrementAndGet)
+                        .thenReturn(i)));
+
+        // then
+        StepVerifier.create(result)
+                .expectNextCount(10)
+                .verifyComplete();
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("지연 시간이 기준을 넘으면 limit을 줄인다")
+    void execute_SlowTask_DecreasesLimit() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 8, 1, 8, 1, 0.5, new SimpleMeterRegistry());
+
+        // when
+        StepVerifier.create(limiter.execute(Mono.delay(Duration.ofMillis(20))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("오류가 나면 limit을 줄이고 허가를 반납한다")
+    void execute_Error_DecreasesLimitAndReleasesPermit() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 4, 1, 8, 1_000, 0.5, new SimpleMeterRegistry());
+
+        // when
+        StepVerifier.create(limiter.execute(Mono.error(new IllegalStateException("실패"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package com.sparta.notificationsystem.limiter;
+
+import com.sparta.notificationsystem.global.limiter.PriorityFanOutScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriorityFanOutSchedulerTest {
+
+    @Test
+    @DisplayName("예산이 비면 긴급도, 구독자 등급이 높은 chunk부터 실행한다")
+    void schedule_DrainsHighPriorityFirst() {
+        // given
+        PriorityFanOutScheduler scheduler = new PriorityFanOutScheduler(new SimpleMeterRegistry(), 1);
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(0, 0, blocker.asMono()).subscribe();  // 예산을 차지하고 있는 작업
+        scheduler.schedule(0, 0, Mono.fromRunnable(() -> executed.add("일반 상품, 일반 등급"))).subscribe();
+        scheduler.schedule(0, 1, Mono.fromRunnable(() -> executed.add("일반 상품, 얼리 액세스"))).subscribe();
+        scheduler.schedule(1, 0, Mono.fromRunnable(() -> executed.add("긴급 상품, 일반 등급"))).subscribe();
+        assertThat(scheduler.getWaiting()).isEqualTo(3);
+
+        // when
+        blocker.tryEmitEmpty();
+
+        // then
+        assertThat(executed).containsExactly("긴급 상품, 일반 등급", "일반 상품, 얼리 액세스", "일반 상품, 일반 등급");
+        assertThat(scheduler.getRunning()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기 중에 취소된 chunk는 대기열에서 빠지고 예산을 차지하지 않는다")
+    void schedule_CancelWhileWaiting_RemovesWaiter() {
+        // given
+        PriorityFanOutScheduler scheduler = new PriorityFanOutScheduler(new SimpleMeterRegistry(), 1);
+        Sinks.Empty<Void> blocker = Sinks.empty();
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(0, 0, blocker.asMono()).subscribe();
+        Disposable cancelled = scheduler.schedule(5, 0, Mono.fromRunnable(() -> executed.add("취소됨"))).subscribe();
+        scheduler.schedule(0, 0, Mono.fromRunnable(() -> executed.add("실행됨"))).subscribe();
+
+        // when
+        cancelled.dispose();
+        blocker.tryEmitEmpty();
+
+        // then
+        assertThat(executed).containsExactly("실행됨");
+        assertThat(scheduler.getWaiting()).isZero();
+        assertThat(scheduler.getRunning()).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+package com.sparta.notificationsystem.limiter;
+
+import com.sparta.notificationsystem.global.exception.AdmissionRejectedException;
+import com.sparta.notificationsystem.global.limiter.FanOutConcurrencyLimiters;
+import com.sparta.notificationsystem.global.limiter.PriorityFanOutScheduler;
+import com.sparta.notificationsystem.global.limiter.RestockAdmissionControl;
+import com.sparta.notificationsystem.global.limiter.RestockAdmissionControl.Priority;
+import com.sparta.notificationsystem.global.resilience.DependencyGuards;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RestockAdmissionControlTest {
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private RestockAdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        // 진행 중인 작업 2개, 관리자 재전송은 1개 더
+        admissionControl = new RestockAdmissionControl(
+                new DependencyGuards(circuitBreakerRegistry, BulkheadRegistry.ofDefaults(), 2000, 500, 5000),
+                new FanOutConcurrencyLimiters(meterRegistry, 4, 1, 32, 0.9, 200, 20),
+                new PriorityFanOutScheduler(meterRegistry, 64),
+                meterRegistry, 2, 1, 2000, 1000, 200, 5, 30);
+    }
+
+    @Test
+    @DisplayName("진행 중인 작업이 가득 차면 429와 Retry-After로 거절하고, 관리자 재전송은 여유분까지 받는다")
+    void admit_Saturated_RejectsWithTooManyRequests() {
+        // given
+        Sinks.Empty<Boolean> running = Sinks.empty();
+        admissionControl.admit(Priority.USER, running.asMono()).subscribe();
+        admissionControl.admit(Priority.USER, running.asMono()).subscribe();
+
+        // when, then
+        StepVerifier.create(admissionControl.admit(Priority.USER, Mono.just(true)))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(AdmissionRejectedException.class);
+                    assertThat(((AdmissionRejectedException) error).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(((AdmissionRejectedException) error).getRetryAfter()).isEqualTo(Duration.ofSeconds(5));
+                })
+                .verify();
+        StepVerifier.create(admissionControl.admit(Priority.ADMIN, Mono.just(true)))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(admissionControl.getActiveJobs()).isEqualTo(2);  // 진행 중인 작업은 그대로
+
+        // 진행 중인 작업이 끝나면 다시 받는다.
+        running.tryEmitEmpty();
+        assertThat(admissionControl.getActiveJobs()).isZero();
+        StepVerifier.create(admissionControl.admit(Priority.USER, Mono.just(true)))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("자동 재개는 관리자 재전송용 여유분을 쓰지 않는다")
+    void availableSlots_SystemDoesNotUseAdminReserve() {
+        // given
+        Sinks.Empty<Boolean> running = Sinks.empty();
+        admissionControl.admit(Priority.USER, running.asMono()).subscribe();
+
+        // when, then
+        assertThat(admissionControl.availableSlots(Priority.SYSTEM)).isEqualTo(1);
+        assertThat(admissionControl.availableSlots(Priority.ADMIN)).isEqualTo(2);
+
+        admissionControl.admit(Priority.SYSTEM, running.asMono()).subscribe();
+        assertThat(admissionControl.availableSlots(Priority.SYSTEM)).isZero();
+        StepVerifier.create(admissionControl.admit(Priority.SYSTEM, Mono.just(true)))
+                .expectError(AdmissionRejectedException.class)
+                .verify();
+        StepVerifier.create(admissionControl.admit(Priority.ADMIN, Mono.just(true)))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("MySQL circuit이 열려 있으면 503으로 거절한다")
+    void admit_MysqlCircuitOpen_RejectsWithServiceUnavailable() {
+        // given
+        circuitBreakerRegistry.circuitBreaker("mysql").transitionToOpenState();
+
+        // when, then
+        StepVerifier.create(admissionControl.admit(Priority.USER, Mono.just(true)))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(AdmissionRejectedException.class);
+                    assertThat(((AdmissionRejectedException) error).getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                })
+                .verify();
+        assertThat(admissionControl.getActiveJobs()).isZero();
+    }
+
+    @Test
+    @DisplayName("작업이 실패해도 자리를 반납한다")
+    void admit_JobFails_ReleasesSlot() {
+        StepVerifier.create(admissionControl.admit(Priority.USER, Mono.error(new IllegalStateException("실패"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        assertThat(admissionControl.getActiveJobs()).isZero();
+    }
+}
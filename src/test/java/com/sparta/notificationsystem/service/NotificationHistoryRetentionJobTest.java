@@ -0,0 +1,215 @@
+package com.sparta.notificationsystem.service;
+
+import com.sparta.notificationsystem.notification.productnotification.entity.ProductNotificationHistory;
+import com.sparta.notificationsystem.notification.productusernotification.entity.ProductNotificationRoundSummary;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationHistoryRepository;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationRoundSummaryRepository;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductUserNotificationHistoryRepository;
+import com.sparta.notificationsystem.notification.productusernotification.service.NotificationHistoryRetentionJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class NotificationHistoryRetentionJobTest {
+    private static final String TABLE = "product_user_notification_history";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ProductNotificationHistoryRepository productNotificationHistoryRepository;
+    @Mock
+    private ProductUserNotificationHistoryRepository productUserNotificationHistoryRepository;
+    @Mock
+    private ProductNotificationRoundSummaryRepository productNotificationRoundSummaryRepository;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private NotificationHistoryRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // 6개월 보관, 이번 달 포함 2개월 뒤까지 파티션을 미리 만든다.
+        job = new NotificationHistoryRetentionJob(jdbcTemplate, productNotificationHistoryRepository,
+                productUserNotificationHistoryRepository, productNotificationRoundSummaryRepository, stringRedisTemplate, 6, 2, 60_000);
+        when(productNotificationHistoryRepository.findWithoutRoundSummary(any(), any())).thenReturn(List.of());
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("완료되었지만 요약이 없는 회차를 발송 수, 첫/마지막 발송 시각으로 요약한다")
+    void rollupCompletedRounds_SummarizesRounds() {
+        // given
+        LocalDateTime first = LocalDateTime.of(2026, 10, 1, 10, 0);
+        LocalDateTime last = first.plusMinutes(3);
+        when(productNotificationHistoryRepository.findWithoutRoundSummary(eq(ProductNotificationHistory.Status.COMPLETED), any()))
+                .thenReturn(List.of(completed(1L, 2), completed(3L, 1)));
+        when(productUserNotificationHistoryRepository.summarizeRound(anyLong(), anyInt()))
+                .thenReturn(List.<Object[]>of(new Object[]{500L, first, last}));
+
+        // when
+        job.rollupCompletedRounds();
+
+        // then
+        ArgumentCaptor<ProductNotificationRoundSummary> saved = ArgumentCaptor.forClass(ProductNotificationRoundSummary.class);
+        verify(productNotificationRoundSummaryRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(ProductNotificationRoundSummary::getProductId).containsExactly(1L, 3L);
+        ProductNotificationRoundSummary summary = saved.getAllValues().get(0);
+        assertThat(summary.getRestockRound()).isEqualTo(2);
+        assertThat(summary.getNotifiedCount()).isEqualTo(500L);
+        assertThat(summary.getFirstNotifiedAt()).isEqualTo(first);
+        assertThat(summary.getLastNotifiedAt()).isEqualTo(last);
+    }
+
+    @Test
+    @DisplayName("테이블이 파티셔닝되어 있지 않으면 파티션 관리를 건너뛴다")
+    void run_NotPartitioned_SkipsPartitionManagement() {
+        // given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(TABLE))).thenReturn(List.of());
+
+        // when
+        job.run();
+
+        // then
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 락을 잡고 있으면 요약과 파티션 관리를 모두 건너뛴다")
+    void run_LockHeldElsewhere_Skips() {
+        // given
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        // when
+        job.run();
+
+        // then
+        verifyNoInteractions(jdbcTemplate, productNotificationHistoryRepository);
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("락을 잡은 인스턴스는 작업이 끝나면 자기가 잡은 락을 푼다 (실패해도)")
+    void run_ReleasesOwnLock() {
+        // given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(TABLE))).thenThrow(new IllegalStateException("DB 장애"));
+
+        // when
+        assertThatThrownBy(() -> job.run()).isInstanceOf(IllegalStateException.class);
+
+        // then
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).setIfAbsent(eq("lock:notification-history-retention"), owner.capture(), eq(Duration.ofMinutes(1)));
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("lock:notification-history-retention")), eq(owner.getValue()));
+    }
+
+    @Test
+    @DisplayName("파티션이 pmax 하나뿐이면 (마이그레이션 직후) 이번 달부터 월 파티션을 만든다")
+    void run_OnlyMaxPartition_AddsMonthlyPartitionsFromCurrentMonth() {
+        // given
+        YearMonth now = YearMonth.now();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(TABLE))).thenReturn(List.of("pmax"));
+
+        // when
+        job.runOnStartup();
+
+        // then
+        assertThat(executedStatements()).containsExactly(
+                reorganize(now),
+                reorganize(now.plusMonths(1)),
+                reorganize(now.plusMonths(2)));
+    }
+
+    @Test
+    @DisplayName("pmax를 나눠서 없는 월 파티션을 pYYYYMM 이름과 다음 달 1일 경계로 만든다")
+    void run_AddsMissingMonthlyPartitions() {
+        // given
+        YearMonth now = YearMonth.now();
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(TABLE)))
+                .thenReturn(List.of(name(now), "pmax"));
+
+        // when
+        job.run();
+
+        // then
+        List<String> statements = executedStatements();
+        assertThat(statements).containsExactly(
+                reorganize(now.plusMonths(1)),
+                reorganize(now.plusMonths(2)));
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 파티션만 요약이 없는 회차를 요약한 뒤 삭제한다")
+    void run_DropsExpiredPartitionsAfterSummarizing() {
+        // given
+        YearMonth now = YearMonth.now();
+        String expired = name(now.minusMonths(7));
+        String kept = name(now.minusMonths(6));
+        List<String> partitions = new ArrayList<>(List.of(expired, kept));
+        for (int i = 0; i <= 2; i++) {
+            partitions.add(name(now.plusMonths(i)));
+        }
+        partitions.add("pmax");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(TABLE))).thenReturn(partitions);
+        when(jdbcTemplate.queryForList("select distinct product_id, restock_round from " + TABLE + " partition (" + expired + ")"))
+                .thenReturn(List.of(
+                        Map.of("product_id", 1L, "restock_round", 1),
+                        Map.of("product_id", 2L, "restock_round", 4)));
+        when(productNotificationRoundSummaryRepository.existsById(new ProductNotificationRoundSummary.RoundId(1L, 1))).thenReturn(true);
+        when(productUserNotificationHistoryRepository.summarizeRound(2L, 4))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, LocalDateTime.now(), LocalDateTime.now()}));
+
+        // when
+        job.run();
+
+        // then
+        assertThat(executedStatements()).containsExactly("alter table " + TABLE + " drop partition " + expired);
+        verify(productUserNotificationHistoryRepository, never()).summarizeRound(1L, 1);
+        verify(productNotificationRoundSummaryRepository).save(argThat(summary -> summary.getProductId() == 2L && summary.getRestockRound() == 4));
+    }
+
+    private List<String> executedStatements() {
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeast(0)).execute(statements.capture());
+        return statements.getAllValues();
+    }
+
+    private static String reorganize(YearMonth month) {
+        return "alter table " + TABLE + " reorganize partition pmax into (" +
+                "partition " + name(month) + " values less than ('" + month.plusMonths(1).atDay(1) + "'), " +
+                "partition pmax values less than (maxvalue))";
+    }
+
+    private static String name(YearMonth month) {
+        return month.format(PARTITION_NAME);
+    }
+
+    private static ProductNotificationHistory completed(Long productId, Integer restockRound) {
+        return ProductNotificationHistory.builder()
+                .productId(productId).restockRound(restockRound)
+                .status(ProductNotificationHistory.Status.COMPLETED).build();
+    }
+}
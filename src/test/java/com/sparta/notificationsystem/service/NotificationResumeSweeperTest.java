@@ -0,0 +1,241 @@
+package com.sparta.notificationsystem.service;
+
+import com.sparta.notificationsystem.global.limiter.FanOutConcurrencyLimiters;
+import com.sparta.notificationsystem.global.limiter.PriorityFanOutScheduler;
+import com.sparta.notificationsystem.global.limiter.RestockAdmissionControl;
+import com.sparta.notificationsystem.global.limiter.RestockAdmissionControl.Priority;
+import com.sparta.notificationsystem.global.resilience.DependencyGuards;
+import com.sparta.notificationsystem.notification.productnotification.entity.ProductNotificationHistory;
+import com.sparta.notificationsystem.notification.productnotification.service.NotificationResumeSweeper;
+import com.sparta.notificationsystem.notification.productnotification.service.ProductNotificationService;
+import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationHistoryRepository;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class NotificationResumeSweeperTest {
+    @Mock
+    private ProductNotificationHistoryRepository productNotificationHistoryRepository;
+    @Mock
+    private ProductNotificationService productNotificationService;
+
+    private RestockAdmissionControl admissionControl;
+    private NotificationResumeSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        // 첫 재개 실패 후 1분, 이후 2배씩 최대 10분 대기, 최대 5번 시도
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        admissionControl = new RestockAdmissionControl(
+                new DependencyGuards(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), 2000, 500, 5000),
+                new FanOutConcurrencyLimiters(meterRegistry, 4, 1, 32, 0.9, 200, 20),
+                new PriorityFanOutScheduler(meterRegistry, 64),
+                meterRegistry, 32, 4, 2000, 1000, 200, 5, 30);
+        sweeper = new NotificationResumeSweeper(productNotificationHistoryRepository, productNotificationService,
+                transactionTemplate, admissionControl, true, 50, 4, 5, 60_000, 600_000, 600_000);
+    }
+
+    @Test
+    @DisplayName("claim에 성공한 알림만 재개하고 다음 재개 시각을 backoff만큼 뒤로 미룬다")
+    void sweep_ResumesOnlyClaimedHistories() {
+        // given
+        when(productNotificationHistoryRepository.findResumableIds(eq(ProductNotificationHistory.Status.CANCELED_BY_ERROR), eq(5), any(), any()))
+                .thenReturn(List.of(1L, 2L));
+        // 2번은 다른 인스턴스가 먼저 claim 했다.
+        ProductNotificationHistory claimed = ProductNotificationHistory.builder()
+                .id(1L).productId(10L).restockRound(3).lastUserId(100L)
+                .status(ProductNotificationHistory.Status.CANCELED_BY_ERROR).resumeAttempts(3).build();
+        when(productNotificationHistoryRepository.findByIdInAndClaimedBy(eq(List.of(1L, 2L)), anyString())).thenReturn(List.of(claimed));
+        when(productNotificationService.processRestockNotificationManual(10L)).thenReturn(Mono.just(true));
+
+        // when
+        LocalDateTime before = LocalDateTime.now();
+        sweeper.sweep();
+
+        // then
+        verify(productNotificationHistoryRepository).claimForResume(eq(List.of(1L, 2L)), eq(ProductNotificationHistory.Status.CANCELED_BY_ERROR),
+                anyString(), any(), any());
+        verify(productNotificationService, times(1)).processRestockNotificationManual(10L);
+        verify(productNotificationService, never()).processRestockNotificationManual(20L);
+        assertThat(claimed.getNextResumeAt()).isAfterOrEqualTo(before.plusMinutes(4));  // 3번째 시도 -> 1분 * 2^2
+        verify(productNotificationHistoryRepository).saveAll(List.of(claimed));
+    }
+
+    @Test
+    @DisplayName("재개가 실패해도 다음 알림은 계속 재개한다")
+    void sweep_FailureDoesNotStopBatch() {
+        // given
+        when(productNotificationHistoryRepository.findResumableIds(any(), anyInt(), any(), any())).thenReturn(List.of(1L, 2L));
+        ProductNotificationHistory first = ProductNotificationHistory.builder()
+                .id(1L).productId(10L).restockRound(1).status(ProductNotificationHistory.Status.CANCELED_BY_ERROR).resumeAttempts(1).build();
+        ProductNotificationHistory second = ProductNotificationHistory.builder()
+                .id(2L).productId(20L).restockRound(1).status(ProductNotificationHistory.Status.CANCELED_BY_ERROR).resumeAttempts(5).build();
+        when(productNotificationHistoryRepository.findByIdInAndClaimedBy(anyList(), anyString())).thenReturn(List.of(first, second));
+        when(productNotificationService.processRestockNotificationManual(10L)).thenReturn(Mono.error(new IllegalStateException("MySQL 장애")));
+        when(productNotificationService.processRestockNotificationManual(20L)).thenReturn(Mono.just(true));
+
+        // when
+        sweeper.sweep();
+
+        // then
+        verify(productNotificationService).processRestockNotificationManual(10L);
+        verify(productNotificationService).processRestockNotificationManual(20L);
+    }
+
+    @Test
+    @DisplayName("재개를 기다리지 않고 돌아오며, 재개 중인 알림이 concurrency만큼 있으면 더 claim 하지 않는다")
+    void sweep_DoesNotBlockAndClaimsOnlyFreeSlots() {
+        // given
+        when(productNotificationHistoryRepository.findResumableIds(any(), anyInt(), any(), any())).thenReturn(List.of(1L, 2L, 3L, 4L));
+        List<ProductNotificationHistory> histories = LongStream.rangeClosed(1, 4)
+                .mapToObj(id -> ProductNotificationHistory.builder()
+                        .id(id).productId(id * 10).restockRound(1).status(ProductNotificationHistory.Status.CANCELED_BY_ERROR).resumeAttempts(1).build())
+                .toList();
+        when(productNotificationHistoryRepository.findByIdInAndClaimedBy(anyList(), anyString())).thenReturn(histories);
+        Sinks.One<Boolean> slowResume = Sinks.one();
+        when(productNotificationService.processRestockNotificationManual(anyLong())).thenReturn(slowResume.asMono());
+
+        // when
+        sweeper.sweep();
+        sweeper.sweep();
+
+        // then
+        assertThat(sweeper.getResuming()).isEqualTo(4);
+        verify(productNotificationHistoryRepository, times(1)).findResumableIds(any(), anyInt(), any(), eq(PageRequest.of(0, 4)));
+
+        // when
+        slowResume.tryEmitValue(true);
+
+        // then
+        assertThat(sweeper.getResuming()).isZero();
+    }
+
+    @Test
+    @DisplayName("admission에 남은 자리만큼만 claim 하고, 관리자 재전송용 여유분은 쓰지 않는다")
+    void sweep_ClaimsOnlyAdmissionSlots() {
+        // given: 진행 중인 작업 31개 (최대 32개, 관리자 여유분 4개)
+        Sinks.Empty<Boolean> running = Sinks.empty();
+        for (int i = 0; i < 31; i++) {
+            admissionControl.admit(Priority.USER, running.asMono()).subscribe();
+        }
+        when(productNotificationHistoryRepository.findResumableIds(any(), anyInt(), any(), any())).thenReturn(List.of());
+
+        // when
+        sweeper.sweep();
+        admissionControl.admit(Priority.USER, running.asMono()).subscribe();
+        sweeper.sweep();
+
+        // then
+        verify(productNotificationHistoryRepository, times(1)).findResumableIds(any(), anyInt(), any(), eq(PageRequest.of(0, 1)));
+        verifyNoMoreInteractions(productNotificationHistoryRepository);
+    }
+
+    @Test
+    @DisplayName("claim 후 admission에 거절되면 재개하지 않고 claim을 풀어 시도 횟수를 되돌린다")
+    void sweep_AdmissionRejected_ReleasesClaim() {
+        // given
+        when(productNotificationHistoryRepository.findResumableIds(any(), anyInt(), any(), any())).thenReturn(List.of(1L));
+        ProductNotificationHistory history = ProductNotificationHistory.builder()
+                .id(1L).productId(10L).restockRound(1).status(ProductNotificationHistory.Status.CANCELED_BY_ERROR).resumeAttempts(1).build();
+        Sinks.Empty<Boolean> running = Sinks.empty();
+        when(productNotificationHistoryRepository.findByIdInAndClaimedBy(anyList(), anyString())).thenAnswer(invocation -> {
+            // claim 하는 사이에 다른 요청이 자리를 모두 채운다.
+            for (int i = 0; i < 32; i++) {
+                admissionControl.admit(Priority.USER, running.asMono()).subscribe();
+            }
+            return List.of(history);
+        });
+        AtomicBoolean resumed = new AtomicBoolean();
+        when(productNotificationService.processRestockNotificationManual(10L))
+                .thenReturn(Mono.fromCallable(() -> resumed.getAndSet(true)));
+
+        // when
+        sweeper.sweep();
+
+        // then
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        verify(productNotificationHistoryRepository).claimForResume(anyList(), any(), owner.capture(), any(), any());
+        verify(productNotificationHistoryRepository).releaseClaim(1L, owner.getValue(), ProductNotificationHistory.Status.CANCELED_BY_ERROR);
+        assertThat(resumed).isFalse();
+        assertThat(sweeper.getResuming()).isZero();
+    }
+
+    @Test
+    @DisplayName("재개가 실패하면 claim을 풀고, 다음 재개 시각은 lease가 아니라 backoff(1분, 2분, 4분...)를 따른다")
+    void sweep_FailedResume_FollowsBackoffNotLease() {
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            // given: claim으로 attempt번째 시도가 된 히스토리
+            reset(productNotificationHistoryRepository, productNotificationService);
+            when(productNotificationHistoryRepository.findResumableIds(any(), anyInt(), any(), any())).thenReturn(List.of(1L));
+            ProductNotificationHistory history = ProductNotificationHistory.builder()
+                    .id(1L).productId(10L).restockRound(1).status(ProductNotificationHistory.Status.CANCELED_BY_ERROR).resumeAttempts(attempt).build();
+            when(productNotificationHistoryRepository.findByIdInAndClaimedBy(anyList(), anyString())).thenReturn(List.of(history));
+            when(productNotificationService.processRestockNotificationManual(10L)).thenReturn(Mono.error(new IllegalStateException("MySQL 장애")));
+
+            // when
+            LocalDateTime before = LocalDateTime.now();
+            sweeper.sweep();
+            LocalDateTime after = LocalDateTime.now();
+
+            // then
+            ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<LocalDateTime> lease = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(productNotificationHistoryRepository).claimForResume(anyList(), any(), owner.capture(), lease.capture(), any());
+            verify(productNotificationHistoryRepository).clearClaim(1L, owner.getValue());
+            long backoffMinutes = 1L << (attempt - 1);
+            assertThat(history.getNextResumeAt())
+                    .isBetween(before.plusMinutes(backoffMinutes), after.plusMinutes(backoffMinutes))
+                    .isBefore(lease.getValue());   // lease(10분)보다 먼저 다시 잡힌다.
+        }
+    }
+
+    @Test
+    @DisplayName("품절로 멈춘 알림은 자동 재개 대상으로 찾지 않는다")
+    void sweep_DoesNotLookUpSoldOutHistories() {
+        // given
+        when(productNotificationHistoryRepository.findResumableIds(any(), anyInt(), any(), any())).thenReturn(List.of());
+
+        // when
+        sweeper.sweep();
+
+        // then
+        verify(productNotificationHistoryRepository).findResumableIds(eq(ProductNotificationHistory.Status.CANCELED_BY_ERROR), anyInt(), any(), any());
+        verify(productNotificationHistoryRepository, never()).findResumableIds(eq(ProductNotificationHistory.Status.CANCELED_BY_SOLD_OUT), anyInt(), any(), any());
+        verifyNoInteractions(productNotificationService);
+    }
+
+    @Test
+    @DisplayName("재개할 알림이 없으면 claim 하지 않는다")
+    void sweep_NoCandidates_DoesNotClaim() {
+        // given
+        when(productNotificationHistoryRepository.findResumableIds(any(), anyInt(), any(), any())).thenReturn(List.of());
+
+        // when
+        sweeper.sweep();
+
+        // then
+        verify(productNotificationHistoryRepository, never()).claimForResume(any(), any(), any(), any(), any());
+        verifyNoInteractions(productNotificationService);
+    }
+}
@@ -1,21 +1,43 @@
 package com.sparta.notificationsystem.service;
 
+import com.sparta.notificationsystem.global.exception.NotificationPausedException;
+import com.sparta.notificationsystem.global.exception.NotificationSoldOutException;
+import com.sparta.notificationsystem.global.limiter.FanOutConcurrencyLimiters;
+import com.sparta.notificationsystem.global.limiter.PriorityFanOutScheduler;
+import com.sparta.notificationsystem.global.resilience.DependencyGuards;
+import com.sparta.notificationsystem.notification.channel.DeliveryBatch;
+import com.sparta.notificationsystem.notification.channel.DeliveryResult;
+import com.sparta.notificationsystem.notification.channel.ExternalNotificationChannel;
+import com.sparta.notificationsystem.notification.channel.NotificationDigestBuffer;
+import com.sparta.notificationsystem.notification.channel.NotificationDispatcher;
+import com.sparta.notificationsystem.notification.channel.SseNotificationChannel;
+import com.sparta.notificationsystem.notification.productnotification.entity.ProductNotificationHistory;
 import com.sparta.notificationsystem.product.entity.Product;
-import com.sparta.notificationsystem.notification.productusernotification.entity.ProductUserNotification;
 import com.sparta.notificationsystem.notification.productusernotification.repository.ProductNotificationHistoryRepository;
 import com.sparta.notificationsystem.product.repository.ProductRepository;
+import com.sparta.notificationsystem.product.service.ProductCache;
 import com.sparta.notificationsystem.notification.productusernotification.repository.ProductUserNotificationHistoryRepository;
-import com.sparta.notificationsystem.notification.productnotification.repository.ProductUserNotificationRepository;
 import com.sparta.notificationsystem.notification.productnotification.service.ProductNotificationService;
+import com.sparta.notificationsystem.notification.productusernotification.service.NotifiedUserStore;
+import com.sparta.notificationsystem.notification.productusernotification.service.NotifiedUserStore.NotifiedUsers;
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex;
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex.TierSlice;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
@@ -23,18 +45,28 @@ import reactor.test.StepVerifier;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 import static org.mockito.Mockito.*;
 
 public class ServiceUnitTest {
-    @InjectMocks
     private ProductNotificationService productNotificationService;
 
     @Mock
     private ProductRepository productRepository;
 
     @Mock
-    private ProductUserNotificationRepository productUserNotificationRepository;
+    private ProductSubscriberIndex productSubscriberIndex;
+
+    @Mock
+    private NotifiedUserStore notifiedUserStore;
 
     @Mock
     private ProductNotificationHistoryRepository productNotificationHistoryRepository;
@@ -46,9 +78,35 @@ public class ServiceUnitTest {
     private RedisTemplate<String, Object> redisTemplate;
     @Mock
     private ValueOperations<String, Object> valueOperations;
+
+    @Spy
+    private FanOutConcurrencyLimiters concurrencyLimiters = new FanOutConcurrencyLimiters(new SimpleMeterRegistry(), 4, 1, 32, 0.9, 200, 20);
+    @Spy
+    private PriorityFanOutScheduler fanOutScheduler = new PriorityFanOutScheduler(new SimpleMeterRegistry(), 64);
+    // SSE 채널만 사용 (Sink로 내보낸 메시지는 테스트에서 구독하지 않는다)
+    private final Sinks.Many<String> sink = Sinks.many().multicast().onBackpressureBuffer();
+    @Spy
+    private NotificationDispatcher notificationDispatcher = new NotificationDispatcher(
+            List.of(new SseNotificationChannel(sink, 64, 1024)), new SimpleMeterRegistry(),
+            new NotificationDigestBuffer(false, 60000, new SimpleMeterRegistry()));
+    @Spy
+    private DependencyGuards guards = new DependencyGuards(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), 2000, 500, 5000);
+    private ProductCache productCache;
+    // 트랜잭션 경계는 그대로 실행만 한다. (commit/rollback은 mock)
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // 상품 캐시는 mock RedisTemplate, ProductRepository를 그대로 사용 (미리 갱신은 하지 않는다)
+        productCache = new ProductCache(redisTemplate, productRepository, guards, 600, 0);
+        productNotificationService = newService();
+        when(productRepository.findTotalRestockRoundById(anyLong())).thenReturn(2);  // 증가된 재입고 회차
+        // 이번 회차에 알림 받은 유저 없음 (Redis를 읽지 않는 실제 빈 비트맵)
+        NotifiedUserStore emptyStore = new NotifiedUserStore(mock(StringRedisTemplate.class), 7);
+        when(notifiedUserStore.load(anyLong(), anyInt())).thenAnswer(invocation ->
+                emptyStore.empty(invocation.getArgument(0), invocation.getArgument(1)));
+        when(notifiedUserStore.empty(anyLong(), anyInt())).thenAnswer(invocation ->
+                emptyStore.empty(invocation.getArgument(0), invocation.getArgument(1)));
     }
 
     @Test
@@ -104,7 +162,7 @@ public class ServiceUnitTest {
         when(valueOperations.get("productStock:" + productId)).thenReturn(testProduct.getStock());
 
         // 알림을 설정한 유저가 없는 상황 모킹 (빈 리스트 반환)
-        when(productUserNotificationRepository.findByProductId(productId)).thenReturn(List.of());
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of());
 
         // When
         Mono<Boolean> result = productNotificationService.processRestockNotification(productId);
@@ -123,10 +181,6 @@ public class ServiceUnitTest {
         Long productId = 1L;
         Product testProduct = new Product(productId, 0, "상품", 10);
 
-        // Sinks 초기화 (SSE 용)
-        Sinks.Many<String> sink = Sinks.many().multicast().onBackpressureBuffer();
-        ReflectionTestUtils.setField(productNotificationService, "sink", sink);
-
         // Redis 및 DB 설정
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         when(valueOperations.get("product:" + productId)).thenReturn(testProduct);
@@ -135,11 +189,7 @@ public class ServiceUnitTest {
                 .thenReturn(0);  // 두 번째 호출에서는 재고 0
 
         // 유저 알림 설정
-        List<ProductUserNotification> notifications = List.of(
-                new ProductUserNotification(productId, 1L),
-                new ProductUserNotification(productId, 2L)
-        );
-        when(productUserNotificationRepository.findByProductId(productId)).thenReturn(notifications);
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of(new TierSlice(0, new long[]{1L, 2L})));
 
         // When
         Mono<Boolean> result = productNotificationService.processRestockNotification(productId);
@@ -152,16 +202,83 @@ public class ServiceUnitTest {
         verify(valueOperations, times(2)).get("productStock:" + productId);  // 두 번 호출됨을 확인
     }
 
+    @Test
+    @DisplayName("발송 중 품절로 멈추면 품절 상태만 남기고 자동 재개 대상인 오류 히스토리를 만들지 않는다")
+    void process_StockBecomesZero_DoesNotWriteErrorHistory() {
+        // Given
+        Long productId = 1L;
+        Product testProduct = new Product(productId, 0, "상품", 10);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + productId)).thenReturn(testProduct);
+        when(valueOperations.get("productStock:" + productId))
+                .thenReturn(testProduct.getStock())
+                .thenReturn(0);
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of(new TierSlice(0, new long[]{1L, 2L})));
+
+        // When
+        StepVerifier.create(productNotificationService.processRestockNotification(productId))
+                // Then
+                .expectError(NotificationSoldOutException.class)
+                .verify();
+        verify(productNotificationHistoryRepository, atLeastOnce()).save(argThat(history ->
+                history.getStatus() == ProductNotificationHistory.Status.CANCELED_BY_SOLD_OUT));
+        // sweeper는 CANCELED_BY_ERROR만 찾으므로 품절 히스토리는 자동 재개되지 않는다.
+        verify(productNotificationHistoryRepository, never()).save(argThat(history ->
+                history.getStatus() == ProductNotificationHistory.Status.CANCELED_BY_ERROR));
+    }
+
+    @Test
+    @DisplayName("품절로 멈춘 회차를 재전송할 때 아직 재고가 없으면 오류 히스토리를 만들지 않는다")
+    void processManual_SoldOutRoundStillOutOfStock_DoesNotWriteErrorHistory() {
+        // Given
+        Long productId = 1L;
+        Product testProduct = new Product(productId, 1, "상품", 0);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + productId)).thenReturn(testProduct);
+        when(valueOperations.get("productStock:" + productId)).thenReturn(0);
+        when(productNotificationHistoryRepository.findTopByProductIdOrderByIdDesc(productId)).thenReturn(Optional.of(
+                new ProductNotificationHistory(productId, 1, 2L, ProductNotificationHistory.Status.CANCELED_BY_SOLD_OUT)));
+
+        // When
+        StepVerifier.create(productNotificationService.processRestockNotificationManual(productId))
+                // Then
+                .expectError(NoSuchElementException.class)
+                .verify();
+        verify(productNotificationHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("digest 모드에서 chunk 재고 확인으로 품절되면 digest에 접수하지 않는다")
+    void process_DigestStockBecomesZero_DoesNotQueueDigest() {
+        // Given
+        Long productId = 1L;
+        Product testProduct = new Product(productId, 0, "상품", 10);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + productId)).thenReturn(testProduct);
+        when(valueOperations.get("productStock:" + productId))
+                .thenReturn(testProduct.getStock())  // 시작 시 재고 10
+                .thenReturn(0);  // chunk 재고 확인 시 품절
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of(new TierSlice(0, new long[]{1L, 2L})));
+        NotificationDigestBuffer digestBuffer = new NotificationDigestBuffer(true, 60000, new SimpleMeterRegistry());
+        ExternalNotificationChannel push = new ExternalNotificationChannel("push", 100, 1, (channel, batch) ->
+                Mono.just(batch.userIds().stream().map(DeliveryResult::delivered).toList()));
+        NotificationDispatcher digestDispatcher = new NotificationDispatcher(List.of(push), new SimpleMeterRegistry(), digestBuffer);
+
+        // When
+        StepVerifier.create(newService(digestDispatcher).processRestockNotification(productId))
+                // Then
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        assertThat(digestBuffer.getPendingUsers()).isZero();
+        verify(productUserNotificationHistoryRepository, never()).saveAll(anyList());
+    }
+
     @Test
     @DisplayName("알림이 모두 전송이 잘 된 경우")
     void process_NotificationsSentSuccessfully_ReturnsTrue() {
         // Given
         Long productId = 1L;
         Product product = new Product(productId, 1, "상품", 10); // 재고가 10인 상품
-        List<ProductUserNotification> notifications = List.of(
-                new ProductUserNotification(productId, 1L),
-                new ProductUserNotification(productId, 2L)
-        );
 
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
@@ -169,20 +286,10 @@ public class ServiceUnitTest {
         when(valueOperations.get("product:" + productId)).thenReturn(product);
         when(valueOperations.get("productStock:" + productId)).thenReturn(product.getStock());
 
-        // 알림 유저 목록 DB에서 조회
-        when(productUserNotificationRepository.findByProductId(productId)).thenReturn(notifications);
+        // 알림 유저 목록을 구독자 인덱스에서 조회
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of(new TierSlice(0, new long[]{1L, 2L})));
 
-        // Sinks.Many 객체를 초기화
-        Sinks.Many<String> sink = Sinks.many().multicast().onBackpressureBuffer();
-        ProductNotificationService notificationService = new ProductNotificationService(
-                sink,
-                sink.asFlux(),  // restockNotificationStream에 대한 플럭스 스트림 설정
-                productRepository,
-                productUserNotificationRepository,
-                productUserNotificationHistoryRepository,
-                productNotificationHistoryRepository,
-                redisTemplate
-        );
+        ProductNotificationService notificationService = newService();
 
         // When
         StepVerifier.create(notificationService.processRestockNotification(productId))
@@ -190,10 +297,191 @@ public class ServiceUnitTest {
                 .expectNext(true)  // 알림이 성공적으로 전송되었을 때 true를 반환하는지 확인
                 .verifyComplete();
 
-        verify(productRepository, times(1)).save(product);  // 재입고 회차 증가를 위해 save 호출 확인
-        verify(productUserNotificationRepository, times(1)).findByProductId(productId);
-        verify(redisTemplate.opsForValue(), times(2)).get("product:" + productId);
-        verify(redisTemplate.opsForValue(), times(3)).get("productStock:" + productId);
+        verify(productRepository, times(1)).incrementRestockRound(productId);  // 재입고 회차는 UPDATE 한 번으로 증가
+        verify(productRepository, never()).save(any());  // 상품 엔티티 전체를 저장하지 않는다.
+        verify(redisTemplate, times(1)).delete("product:" + productId);  // 캐시는 다시 쓰지 않고 지운다.
+        verify(productSubscriberIndex, times(1)).getSubscribers(productId);
+        verify(redisTemplate.opsForValue(), times(1)).get("product:" + productId);
+        verify(redisTemplate.opsForValue(), times(2)).get("productStock:" + productId);  // 시작 시 1번 + chunk마다 1번
+    }
+
+    @Test
+    @DisplayName("발송 중 Redis 재고 확인이 실패하면 DB 재고로 확인하고 계속 보낸다")
+    void process_RedisFailsDuringNotification_FallsBackToDBStock() {
+        // Given
+        Long productId = 1L;
+        Product product = new Product(productId, 1, "상품", 10);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + productId)).thenReturn(product);
+        when(valueOperations.get("productStock:" + productId))
+                .thenReturn(product.getStock())  // 시작 시에는 Redis 정상
+                .thenThrow(new RedisConnectionFailureException("Redis 연결 실패"));  // 발송 중 Redis 장애
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));  // DB 재고 10
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of(new TierSlice(0, new long[]{1L, 2L})));
+
+        // When
+        StepVerifier.create(productNotificationService.processRestockNotification(productId))
+                // Then
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(productRepository, times(1)).findById(productId);  // chunk 재고 확인을 DB에서 함
+        verify(productUserNotificationHistoryRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("알림 받은 유저 비트맵을 읽지 못하면 같은 회차의 빈 비트맵으로 시작해서 기록한다")
+    void process_NotifiedUsersLoadFails_StartsWithEmptyRoundBitmap() {
+        // Given
+        Long productId = 1L;
+        Product product = new Product(productId, 1, "상품", 10);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + productId)).thenReturn(product);
+        when(valueOperations.get("productStock:" + productId)).thenReturn(product.getStock());
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of(new TierSlice(0, new long[]{1L, 2L})));
+        when(notifiedUserStore.load(anyLong(), anyInt())).thenThrow(new RedisConnectionFailureException("Redis 연결 실패"));
+
+        // When
+        StepVerifier.create(productNotificationService.processRestockNotification(productId))
+                // Then
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(notifiedUserStore).empty(productId, 2);  // 증가된 회차의 key
+        verify(notifiedUserStore).markNotified(any(NotifiedUsers.class), eq(List.of(1L, 2L)));  // 빈 key가 아닌 회차 비트맵에 기록
+    }
+
+    @Test
+    @DisplayName("chunk마다 유저 히스토리와 checkpoint를 같은 트랜잭션에서 저장한다")
+    void process_SavesHistoriesAndCheckpointPerChunk() {
+        // Given
+        Long productId = 1L;
+        Product product = new Product(productId, 1, "상품", 10);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + productId)).thenReturn(product);
+        when(valueOperations.get("productStock:" + productId)).thenReturn(product.getStock());
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of(
+                new TierSlice(1, new long[]{7L}), new TierSlice(0, new long[]{1L, 2L})));
+
+        // When
+        StepVerifier.create(productNotificationService.processRestockNotification(productId))
+                // Then
+                .expectNext(true)
+                .verifyComplete();
+
+        // 등급마다 chunk가 나뉘므로 chunk 2개 = saveAll 2번 + checkpoint 2번 (발송 순서대로)
+        verify(productUserNotificationHistoryRepository, times(2)).saveAll(anyList());
+        InOrder inOrder = inOrder(productNotificationHistoryRepository);
+        inOrder.verify(productNotificationHistoryRepository).updateCheckpoint(any(), eq(1), eq(7L));
+        inOrder.verify(productNotificationHistoryRepository).updateCheckpoint(any(), eq(0), eq(2L));
+    }
+
+    @Test
+    @DisplayName("모든 채널에서 실패한 유저가 있으면 checkpoint를 그 유저 앞에서 멈추고 작업을 중지한다")
+    void process_DeliveryFailed_HoldsCheckpointBeforeFailedUser() {
+        // Given
+        Long productId = 1L;
+        Product product = new Product(productId, 1, "상품", 10);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + productId)).thenReturn(product);
+        when(valueOperations.get("productStock:" + productId)).thenReturn(product.getStock());
+        when(productSubscriberIndex.getSubscribers(productId)).thenReturn(List.of(
+                new TierSlice(1, new long[]{7L}), new TierSlice(0, new long[]{1L, 2L, 3L})));
+        // 유저 2는 모든 채널에서 실패
+        doAnswer(invocation -> Mono.just(invocation.<DeliveryBatch>getArgument(0).userIds().stream()
+                .filter(userId -> userId != 2L)
+                .toList()))
+                .when(notificationDispatcher).dispatch(any());
+
+        // When
+        StepVerifier.create(productNotificationService.processRestockNotification(productId))
+                // Then
+                .expectError(NotificationPausedException.class)
+                .verify();
+
+        // 받은 유저의 히스토리는 저장하고, checkpoint는 실패한 유저 2 앞(유저 1)까지만 올린다.
+        verify(productUserNotificationHistoryRepository, times(2)).saveAll(anyList());
+        InOrder inOrder = inOrder(productNotificationHistoryRepository);
+        inOrder.verify(productNotificationHistoryRepository).updateCheckpoint(any(), eq(1), eq(7L));
+        inOrder.verify(productNotificationHistoryRepository).updateCheckpoint(any(), eq(0), eq(1L));
+        verify(productNotificationHistoryRepository, never()).updateCheckpoint(any(), eq(0), eq(3L));
+        // 재전송(sweeper/수동)이 이어 받도록 에러로 중단된 상태로 저장한다.
+        verify(productNotificationHistoryRepository, atLeastOnce()).save(argThat(history ->
+                history.getStatus() == ProductNotificationHistory.Status.CANCELED_BY_ERROR
+                        && Integer.valueOf(0).equals(history.getLastTier()) && Long.valueOf(1L).equals(history.getLastUserId())));
+    }
+
+    @Test
+    @DisplayName("긴급도와 재입고 예정 표시는 해당 컬럼만 UPDATE 하고 상품 캐시를 지운다")
+    void changeProductSettings_UpdatesColumnAndEvictsCache() {
+        // given
+        Long productId = 1L;
+        when(productRepository.updateNotificationUrgency(productId, 5)).thenReturn(1);
+        when(productRepository.updateRestockExpected(productId, true)).thenReturn(1);
+
+        // when
+        StepVerifier.create(productNotificationService.changeNotificationUrgency(productId, 5))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(productNotificationService.changeRestockExpected(productId, true))
+                .expectNext(true)
+                .verifyComplete();
+
+        // then: 엔티티를 읽고 저장하지 않으므로 재입고 회차를 덮어쓰지 않는다.
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any());
+        verify(redisTemplate, times(2)).delete("product:" + productId);
+    }
+
+    @Test
+    @DisplayName("긴급도를 바꿀 상품이 없으면 NoSuchElementException")
+    void changeNotificationUrgency_ProductNotFound_ThrowsException() {
+        // given
+        when(productRepository.updateNotificationUrgency(1L, 5)).thenReturn(0);
+
+        // when & then
+        StepVerifier.create(productNotificationService.changeNotificationUrgency(1L, 5))
+                .expectError(NoSuchElementException.class)
+                .verify();
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("상품 캐시가 없을 때 동시에 들어온 요청은 DB에서 한 번만 읽는다")
+    void productCache_ConcurrentMisses_LoadOnce() throws Exception {
+        // given
+        Long productId = 1L;
+        Product product = new Product(productId, 1, "상품", 10);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product:" + productId)).thenReturn(null);  // 캐시 없음
+        when(productRepository.findById(productId)).thenAnswer(invocation -> {
+            release.await(1, TimeUnit.SECONDS);  // DB 조회가 느린 상황
+            return Optional.of(product);
+        });
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Optional<Product>>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> productCache.get(productId), executor))
+                    .toList();
+            Thread.sleep(200);  // 모든 요청이 캐시 미스를 확인하도록
+            release.countDown();
+
+            // Then
+            for (CompletableFuture<Optional<Product>> result : results) {
+                assertThat(result.get(1, TimeUnit.SECONDS)).contains(product);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(productRepository, times(1)).findById(productId);
     }
 
     @Test
@@ -205,4 +493,25 @@ public class ServiceUnitTest {
 
         // then
     }
+
+    private ProductNotificationService newService() {
+        return newService(notificationDispatcher);
+    }
+
+    private ProductNotificationService newService(NotificationDispatcher notificationDispatcher) {
+        return new ProductNotificationService(
+                productRepository,
+                productUserNotificationHistoryRepository,
+                productNotificationHistoryRepository,
+                redisTemplate,
+                productSubscriberIndex,
+                notifiedUserStore,
+                concurrencyLimiters,
+                fanOutScheduler,
+                notificationDispatcher,
+                guards,
+                productCache,
+                transactionTemplate
+        );
+    }
 }
@@ -0,0 +1,139 @@
+package com.sparta.notificationsystem.stream;
+
+import com.sparta.notificationsystem.notification.stream.NotificationEvent;
+import com.sparta.notificationsystem.notification.stream.NotificationEventStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class NotificationEventStoreTest {
+
+    private final NotificationEventStore store = new NotificationEventStore(Flux.empty(), null, 4, false, "notificationStream", 0, 0, 4);
+
+    @Test
+    @DisplayName("Last-Event-ID 이후에 놓친 이벤트만 다시 보내고 실시간 이벤트를 이어서 보낸다")
+    void stream_ReplaysMissedEventsAfterLastEventId() {
+        // given
+        NotificationEvent first = store.append("첫 번째");
+        store.append("두 번째");
+        store.append("세 번째");
+
+        // when & then
+        StepVerifier.create(store.stream(first.id()).map(NotificationEvent::data))
+                .expectNext("두 번째", "세 번째")
+                .then(() -> store.append("네 번째"))
+                .expectNext("네 번째")
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("링 버퍼 크기를 넘은 이벤트는 남아있는 만큼만 다시 보낸다")
+    void stream_ReplaysOnlyBufferedEventsWhenGapIsTooLarge() {
+        // given
+        NotificationEvent first = store.append("1");
+        for (int i = 2; i <= 6; i++) {
+            store.append(String.valueOf(i));
+        }
+
+        // when & then (버퍼 크기 4)
+        StepVerifier.create(store.stream(first.id()).map(NotificationEvent::data))
+                .expectNext("3", "4", "5", "6")
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID가 없으면 실시간 이벤트만 받는다")
+    void stream_WithoutLastEventId_ReceivesOnlyLiveEvents() {
+        // given
+        store.append("지난 이벤트");
+
+        // when & then
+        StepVerifier.create(store.stream(null).map(NotificationEvent::data))
+                .then(() -> store.append("새 이벤트"))
+                .expectNext("새 이벤트")
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 찬 느린 구독자는 쌓인 이벤트까지만 순서대로 받고 연결이 끊긴다")
+    void stream_SlowSubscriberOverflows_CompletesWithoutGaps() {
+        // given (구독자 버퍼 4, 요청하지 않는 구독자)
+        int appended = 300;
+        List<Long> received = new ArrayList<>();
+
+        // when & then
+        StepVerifier.create(store.stream(null), 0)
+                .then(() -> {
+                    for (int i = 0; i < appended; i++) {
+                        store.append(String.valueOf(i));
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(event -> received.add(event.id()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        assertThat(received).isNotEmpty().hasSizeLessThan(appended);
+        for (int i = 1; i < received.size(); i++) {
+            assertThat(received.get(i)).isEqualTo(received.get(i - 1) + 1);   // 중간에 빠진 이벤트가 없다.
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 추가해도 Redis Stream에는 id 순서대로 기록한다")
+    @SuppressWarnings("unchecked")
+    void append_Concurrently_SpillsToRedisInIdOrder() throws InterruptedException {
+        // given
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> streamOperations = mock(StreamOperations.class);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        AtomicLong lastWritten = new AtomicLong();
+        AtomicLong outOfOrder = new AtomicLong();
+        when(streamOperations.add(any(MapRecord.class))).thenAnswer(invocation -> {
+            long id = ((MapRecord<String, String, String>) invocation.getArgument(0)).getId().getTimestamp();
+            if (id <= lastWritten.getAndSet(id)) {
+                outOfOrder.incrementAndGet();   // 실제 Redis는 이 XADD를 거절한다.
+            }
+            return ((MapRecord<String, String, String>) invocation.getArgument(0)).getId();
+        });
+        NotificationEventStore redisStore = new NotificationEventStore(Flux.empty(), redisTemplate, 4, true, "notificationStream", 100, 1000, 4);
+        int threads = 4;
+        int perThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    redisStore.append("이벤트");
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        ArgumentCaptor<MapRecord<String, String, String>> records = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streamOperations, timeout(1000).times(threads * perThread)).add(records.capture());
+        assertThat(outOfOrder.get()).isZero();
+    }
+}
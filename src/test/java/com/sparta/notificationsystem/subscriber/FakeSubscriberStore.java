@@ -0,0 +1,198 @@
+package com.sparta.notificationsystem.subscriber;
+
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 구독자 인덱스 테스트용 저장소: Redis Sorted Set과 product_user_notification 테이블을 메모리로 흉내 낸다.
+// 인덱스가 쓰는 명령(ZADD, ZREM, ZSCORE, ZRANGEBYSCORE WITHSCORES LIMIT)과 구독자 조회 쿼리만 구현한다.
+public class FakeSubscriberStore {
+    private final Map<String, Map<String, Double>> sortedSets = new HashMap<>();
+    private final List<long[]> rows = new ArrayList<>();   // {productId, userId, tier}
+    private final AtomicInteger rangeQueries = new AtomicInteger();
+    private final AtomicInteger subscriberQueries = new AtomicInteger();
+    private volatile Runnable onSubscriberQuery = () -> { };
+
+    // DB에 구독자 추가
+    public void insert(long productId, long userId, int tier) {
+        rows.add(new long[]{productId, userId, tier});
+    }
+
+    // 구독자 조회 쿼리가 실행되는 중에 호출된다. (적재 중에 들어오는 요청 흉내)
+    public void onSubscriberQuery(Runnable action) {
+        this.onSubscriberQuery = action;
+    }
+
+    public synchronized Map<String, Double> sortedSet(String key) {
+        return new HashMap<>(sortedSets.getOrDefault(key, Map.of()));
+    }
+
+    public int getRangeQueries() {
+        return rangeQueries.get();
+    }
+
+    public int getSubscriberQueries() {
+        return subscriberQueries.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    public StringRedisTemplate redisTemplate() {
+        ZSetOperations<String, String> operations = mock(ZSetOperations.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            String key = (String) args[0];
+            return switch (invocation.getMethod().getName()) {
+                case "score" -> score(key, (String) args[1]);
+                case "add" -> args.length == 3
+                        ? add(key, (String) args[1], (Double) args[2])
+                        : (Object) addAll(key, (Set<TypedTuple<String>>) args[1]);
+                case "remove" -> remove(key, (Object[]) invocation.getRawArguments()[1]);
+                default -> throw new UnsupportedOperationException(invocation.getMethod().getName());
+            };
+        });
+        RedisZSetCommands zSetCommands = mock(RedisZSetCommands.class, invocation -> {
+            if (!invocation.getMethod().getName().equals("zRangeByScoreWithScores") || invocation.getArguments().length != 3) {
+                throw new UnsupportedOperationException(invocation.getMethod().getName());
+            }
+            Object[] args = invocation.getArguments();
+            return rangeByScore(new String((byte[]) args[0], StandardCharsets.UTF_8), (Range<? extends Number>) args[1], (Limit) args[2]);
+        });
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.zSetCommands()).thenReturn(zSetCommands);
+
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        when(template.opsForZSet()).thenReturn(operations);
+        when(template.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        return template;
+    }
+
+    // select user_id, tier from product_user_notification where product_id = ? order by tier desc, user_id
+    public JdbcTemplate jdbcTemplate() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            subscriberQueries.incrementAndGet();
+            onSubscriberQuery.run();
+            long productId = productIdOf(invocation.getArgument(0));
+            RowCallbackHandler handler = invocation.getArgument(1);
+            List<long[]> selected = rows.stream()
+                    .filter(row -> row[0] == productId)
+                    .sorted(Comparator.comparingLong((long[] row) -> -row[2]).thenComparingLong(row -> row[1]))
+                    .toList();
+            long[] current = new long[3];
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getLong(1)).thenAnswer(call -> current[1]);
+            when(resultSet.getInt(2)).thenAnswer(call -> (int) current[2]);
+            for (long[] row : selected) {
+                System.arraycopy(row, 0, current, 0, 3);
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        return jdbcTemplate;
+    }
+
+    // PreparedStatementCreator가 setLong(1, productId)로 넘긴 값을 꺼낸다.
+    private static long productIdOf(PreparedStatementCreator creator) throws Exception {
+        long[] productId = new long[1];
+        PreparedStatement statement = mock(PreparedStatement.class);
+        doAnswer(invocation -> {
+            productId[0] = invocation.getArgument(1);
+            return null;
+        }).when(statement).setLong(eq(1), anyLong());
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(any(String.class), anyInt(), anyInt()))
+                .thenReturn(statement);
+        creator.createPreparedStatement(connection);
+        return productId[0];
+    }
+
+    private synchronized Double score(String key, String member) {
+        return sortedSets.getOrDefault(key, Map.of()).get(member);
+    }
+
+    private synchronized Boolean add(String key, String member, double score) {
+        return sortedSets.computeIfAbsent(key, k -> new HashMap<>()).put(member, score) == null;
+    }
+
+    private synchronized Long addAll(String key, Collection<TypedTuple<String>> tuples) {
+        long added = 0;
+        for (TypedTuple<String> tuple : tuples) {
+            if (add(key, tuple.getValue(), tuple.getScore())) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private synchronized Long remove(String key, Object[] members) {
+        Map<String, Double> set = sortedSets.getOrDefault(key, new HashMap<>());
+        long removed = 0;
+        for (Object member : members) {
+            if (set.remove(member) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // score 순서(같으면 member 순서)로 범위 안의 원소를 limit 개수만큼 돌려준다.
+    private synchronized Set<Tuple> rangeByScore(String key, Range<? extends Number> range, Limit limit) {
+        rangeQueries.incrementAndGet();
+        Set<Tuple> result = new LinkedHashSet<>();
+        sortedSets.getOrDefault(key, Map.of()).entrySet().stream()
+                .filter(entry -> inRange(entry.getValue(), range))
+                .sorted(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .skip(limit.isUnlimited() ? 0 : limit.getOffset())
+                .limit(limit.isUnlimited() ? Long.MAX_VALUE : limit.getCount())
+                .forEach(entry -> result.add(new DefaultTuple(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue())));
+        return result;
+    }
+
+    private static boolean inRange(double score, Range<? extends Number> range) {
+        Range.Bound<? extends Number> lower = range.getLowerBound();
+        if (lower.isBounded()) {
+            double value = lower.getValue().orElseThrow().doubleValue();
+            if (lower.isInclusive() ? score < value : score <= value) {
+                return false;
+            }
+        }
+        Range.Bound<? extends Number> upper = range.getUpperBound();
+        if (upper.isBounded()) {
+            double value = upper.getValue().orElseThrow().doubleValue();
+            return upper.isInclusive() ? score <= value : score < value;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package com.sparta.notificationsystem.subscriber;
+
+import com.sparta.notificationsystem.notification.productusernotification.service.NotifiedUserStore;
+import com.sparta.notificationsystem.notification.productusernotification.service.NotifiedUserStore.NotifiedUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class NotifiedUserStoreTest {
+    // Redis 문자열 값 (key -> bytes). SETBIT는 offset / 8 번째 바이트의 상위 비트부터 채운다.
+    private final Map<String, byte[]> values = new HashMap<>();
+    private NotifiedUserStore store;
+
+    @BeforeEach
+    void setUp() {
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(stringCommands.get(any(byte[].class))).thenAnswer(invocation ->
+                values.get(new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8)));
+        when(stringCommands.setBit(any(byte[].class), anyLong(), eq(true))).thenAnswer(invocation -> {
+            String key = new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8);
+            long offset = invocation.getArgument(1);
+            byte[] bytes = values.getOrDefault(key, new byte[0]);
+            if (bytes.length <= offset / 8) {
+                bytes = Arrays.copyOf(bytes, (int) (offset / 8) + 1);
+            }
+            boolean previous = (bytes[(int) (offset / 8)] & (0x80 >>> (offset % 8))) != 0;
+            bytes[(int) (offset / 8)] |= (byte) (0x80 >>> (offset % 8));
+            values.put(key, bytes);
+            return previous;
+        });
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(mock(RedisKeyCommands.class));
+
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+        store = new NotifiedUserStore(redisTemplate, 7);
+    }
+
+    @Test
+    @DisplayName("Redis 비트맵에 기록한 유저를 다시 읽으면 같은 유저가 나온다")
+    void markNotified_ThenLoad_RoundTrips() {
+        // given
+        List<Long> userIds = List.of(0L, 1L, 7L, 8L, 15L, 16L, 1_000_003L, 9_999_999L);
+
+        // when
+        store.markNotified(store.load(1L, 1), userIds);
+        NotifiedUsers loaded = store.load(1L, 1);
+
+        // then
+        assertThat(loaded.size()).isEqualTo(userIds.size());
+        userIds.forEach(userId -> assertThat(loaded.contains(userId)).isTrue());
+        assertThat(loaded.contains(2L)).isFalse();
+        assertThat(loaded.contains(9_999_998L)).isFalse();
+        assertThat(loaded.filterNotNotified(new long[]{0L, 2L, 8L, 9L, 9_999_999L})).containsExactly(2L, 9L);
+    }
+
+    @Test
+    @DisplayName("바이트의 상위 비트가 작은 offset이다 (Redis GETBIT 순서)")
+    void load_DecodesMostSignificantBitFirst() {
+        // given: offset 0, 15, 17
+        values.put("notifiedUsers:1:2", new byte[]{(byte) 0x80, 0x01, 0x40});
+
+        // when
+        NotifiedUsers loaded = store.load(1L, 2);
+
+        // then
+        assertThat(loaded.size()).isEqualTo(3);
+        assertThat(loaded.filterNotNotified(new long[]{0L, 1L, 7L, 8L, 15L, 16L, 17L})).containsExactly(1L, 7L, 8L, 16L);
+    }
+
+    @Test
+    @DisplayName("Redis를 읽지 못해 빈 비트맵으로 시작해도 같은 회차 key에 기록한다")
+    void empty_MarksIntoRoundKey() {
+        // when
+        NotifiedUsers notifiedUsers = store.empty(1L, 4);
+        store.markNotified(notifiedUsers, List.of(3L));
+
+        // then
+        assertThat(values).containsOnlyKeys("notifiedUsers:1:4");
+        assertThat(store.load(1L, 4).contains(3L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("비트맵 offset 범위를 벗어난 유저는 기록하지 않고 항상 받지 않은 것으로 본다")
+    void markNotified_UntrackableUser_IsNeverSkipped() {
+        // when
+        store.markNotified(store.load(1L, 3), List.of(-1L, 1L << 33));
+        NotifiedUsers loaded = store.load(1L, 3);
+
+        // then
+        assertThat(loaded.size()).isZero();
+        assertThat(loaded.filterNotNotified(new long[]{-1L, 1L << 33})).containsExactly(-1L, 1L << 33);
+    }
+}
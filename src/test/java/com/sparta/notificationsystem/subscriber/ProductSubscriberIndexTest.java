@@ -0,0 +1,242 @@
+package com.sparta.notificationsystem.subscriber;
+
+import com.sparta.notificationsystem.notification.productnotification.repository.ProductUserNotificationRepository;
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex;
+import com.sparta.notificationsystem.notification.productusernotification.service.ProductSubscriberIndex.TierSlice;
+import com.sparta.notificationsystem.notification.productusernotification.service.SubscriptionWriteBehindBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ProductSubscriberIndexTest {
+    private static final long PRODUCT_ID = 1L;
+    private static final String KEY = "productSubscribers:" + PRODUCT_ID;
+
+    private FakeSubscriberStore store;
+    private SubscriptionWriteBehindBuffer buffer;
+    private ProductSubscriberIndex index;
+
+    @BeforeEach
+    void setUp() {
+        store = new FakeSubscriberStore();
+        buffer = new SubscriptionWriteBehindBuffer(mock(ProductUserNotificationRepository.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        index = new ProductSubscriberIndex(store.redisTemplate(), store.jdbcTemplate(), buffer);
+    }
+
+    @Test
+    @DisplayName("인덱스가 없으면 DB에서 등급이 높은 순서로 적재하고, 다음부터는 Redis에서 읽는다")
+    void getSubscribers_LoadsOnceFromDb() {
+        // given
+        store.insert(PRODUCT_ID, 3L, 0);
+        store.insert(PRODUCT_ID, 1L, 0);
+        store.insert(PRODUCT_ID, 2L, 1);
+        store.insert(2L, 9L, 0);    // 다른 상품
+
+        // when
+        List<TierSlice> loaded = index.getSubscribers(PRODUCT_ID);
+        List<TierSlice> cached = index.getSubscribers(PRODUCT_ID);
+
+        // then
+        assertSlices(loaded, new TierSlice(1, new long[]{2L}), new TierSlice(0, new long[]{1L, 3L}));
+        assertSlices(cached, new TierSlice(1, new long[]{2L}), new TierSlice(0, new long[]{1L, 3L}));
+        assertThat(store.getSubscriberQueries()).isEqualTo(1);
+        assertThat(store.sortedSet(KEY)).containsKeys("loaded", "1", "2", "3").doesNotContainKey("9");
+    }
+
+    @Test
+    @DisplayName("아직 DB에 반영되지 않은 구독, 해제, 등급 변경을 DB 목록에 덮어써서 적재한다")
+    void getSubscribers_MergesPendingChanges() {
+        // given
+        store.insert(PRODUCT_ID, 1L, 0);
+        store.insert(PRODUCT_ID, 2L, 0);
+        store.insert(PRODUCT_ID, 3L, 1);
+        buffer.subscribe(PRODUCT_ID, 4L, 1);    // 새 구독
+        buffer.unsubscribe(PRODUCT_ID, 2L);     // 해제
+        buffer.subscribe(PRODUCT_ID, 1L, 2);    // 등급 변경
+
+        // when
+        List<TierSlice> subscribers = index.getSubscribers(PRODUCT_ID);
+
+        // then
+        assertSlices(subscribers, new TierSlice(2, new long[]{1L}), new TierSlice(1, new long[]{3L, 4L}));
+        assertThat(store.sortedSet(KEY)).containsOnlyKeys("loaded", "1", "3", "4");
+    }
+
+    @Test
+    @DisplayName("적재 중에 들어온 구독 해제는 적재가 끝난 뒤에 반영되어 인덱스에 다시 들어가지 않는다")
+    void unsubscribe_DuringLoad_IsNotOverwritten() throws InterruptedException {
+        // given
+        store.insert(PRODUCT_ID, 1L, 0);
+        store.insert(PRODUCT_ID, 2L, 0);
+        Thread[] unsubscriber = new Thread[1];
+        store.onSubscriberQuery(() -> {
+            // 적재가 대기 요청을 읽은 뒤, 인덱스에 쓰기 전에 해제 요청이 들어온다.
+            unsubscriber[0] = new Thread(() -> index.unsubscribe(PRODUCT_ID, 1L));
+            unsubscriber[0].start();
+            awaitBlockedOrDone(unsubscriber[0]);
+        });
+
+        // when
+        index.getSubscribers(PRODUCT_ID);
+        unsubscriber[0].join(TimeUnit.SECONDS.toMillis(5));
+
+        // then
+        assertThat(store.sortedSet(KEY)).containsOnlyKeys("loaded", "2");
+        assertSlices(index.getSubscribers(PRODUCT_ID), new TierSlice(0, new long[]{2L}));
+    }
+
+    @Test
+    @DisplayName("적재된 인덱스에는 구독/해제가 바로 반영된다")
+    void subscribeAndUnsubscribe_UpdateLoadedIndex() {
+        // given
+        store.insert(PRODUCT_ID, 1L, 0);
+        index.ensureLoaded(PRODUCT_ID);
+
+        // when
+        index.subscribe(PRODUCT_ID, 5L, 3);
+        index.unsubscribe(PRODUCT_ID, 1L);
+
+        // then
+        assertSlices(index.getSubscribers(PRODUCT_ID), new TierSlice(3, new long[]{5L}));
+        assertThat(store.getSubscriberQueries()).isEqualTo(1);
+        assertThat(buffer.pendingFor(PRODUCT_ID)).containsOnlyKeys(1L, 5L);
+    }
+
+    @Test
+    @DisplayName("구독자가 한 페이지(10,000)를 넘으면 마지막 score 다음부터 이어서 읽는다")
+    void getSubscribers_ReadsAcrossPageBoundary() {
+        // given: LOADED 표시 + 구독자 19,999명 = 정확히 두 페이지, 등급 경계가 첫 페이지 끝에 걸친다.
+        for (long userId = 1; userId <= 9_998; userId++) {
+            store.insert(PRODUCT_ID, userId, 2);
+        }
+        for (long userId = 10_001; userId <= 20_001; userId++) {
+            store.insert(PRODUCT_ID, userId, 0);
+        }
+        List<TierSlice> loaded = index.getSubscribers(PRODUCT_ID);
+        int rangeQueries = store.getRangeQueries();
+
+        // when
+        List<TierSlice> cached = index.getSubscribers(PRODUCT_ID);
+
+        // then: 가득 찬 페이지 2개 + 빈 페이지 1개
+        assertThat(store.getRangeQueries() - rangeQueries).isEqualTo(3);
+        assertThat(store.getSubscriberQueries()).isEqualTo(1);
+        assertThat(cached).hasSize(2);
+        assertSlices(cached, loaded.toArray(TierSlice[]::new));
+        assertThat(cached.get(0).tier()).isEqualTo(2);
+        assertThat(cached.get(0).userIds()).hasSize(9_998).startsWith(1L, 2L).endsWith(9_998L);
+        assertThat(cached.get(1).tier()).isZero();
+        assertThat(cached.get(1).userIds()).hasSize(10_001).startsWith(10_001L, 10_002L).endsWith(20_001L);
+
+        // when: 한 명 더 구독하면 세 번째 페이지에 한 명
+        index.subscribe(PRODUCT_ID, 20_002L, 0);
+        rangeQueries = store.getRangeQueries();
+        List<TierSlice> grown = index.getSubscribers(PRODUCT_ID);
+
+        // then
+        assertThat(store.getRangeQueries() - rangeQueries).isEqualTo(3);
+        assertThat(grown.get(1).userIds()).hasSize(10_002).endsWith(20_001L, 20_002L);
+    }
+
+    @Test
+    @DisplayName("LOADED 표시가 없는 인덱스(구독 요청으로 일부만 만들어진 인덱스)는 DB에서 다시 적재한다")
+    void getSubscribers_WithoutLoadedMarker_LoadsFromDb() {
+        // given: 적재 전에 들어온 구독이 인덱스를 일부만 만든다.
+        store.insert(PRODUCT_ID, 1L, 0);
+        store.insert(PRODUCT_ID, 2L, ProductSubscriberIndex.MAX_TIER);
+        index.subscribe(PRODUCT_ID, 3L, ProductSubscriberIndex.MAX_TIER);
+        assertThat(store.sortedSet(KEY)).containsOnlyKeys("3");
+
+        // when
+        List<TierSlice> loaded = index.getSubscribers(PRODUCT_ID);
+        List<TierSlice> cached = index.getSubscribers(PRODUCT_ID);
+
+        // then: LOADED 표시는 가장 높은 등급보다도 앞(-inf)에 있어서 첫 페이지 첫 원소로 확인된다.
+        assertSlices(loaded, new TierSlice(ProductSubscriberIndex.MAX_TIER, new long[]{2L, 3L}), new TierSlice(0, new long[]{1L}));
+        assertSlices(cached, new TierSlice(ProductSubscriberIndex.MAX_TIER, new long[]{2L, 3L}), new TierSlice(0, new long[]{1L}));
+        assertThat(store.getSubscriberQueries()).isEqualTo(1);
+        assertThat(store.sortedSet(KEY).get("loaded")).isEqualTo(Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    @DisplayName("대기 중인 변경으로 등급이 비거나 새로 생기고, 등급을 내린 유저는 새 등급 순서에 들어간다")
+    void getSubscribers_PendingChangesAcrossTiers() {
+        // given
+        store.insert(PRODUCT_ID, 5L, 3);
+        store.insert(PRODUCT_ID, 1L, 2);
+        store.insert(PRODUCT_ID, 9L, 2);
+        store.insert(PRODUCT_ID, 4L, 0);
+        buffer.unsubscribe(PRODUCT_ID, 5L);     // 등급 3이 비게 된다.
+        buffer.subscribe(PRODUCT_ID, 9L, 0);    // 등급 2 -> 0
+        buffer.subscribe(PRODUCT_ID, 6L, 1);    // DB에 없는 등급 1
+        buffer.unsubscribe(PRODUCT_ID, 8L);     // 구독하지 않은 유저의 해제
+
+        // when
+        List<TierSlice> subscribers = index.getSubscribers(PRODUCT_ID);
+
+        // then
+        List<TierSlice> expected = List.of(new TierSlice(2, new long[]{1L}), new TierSlice(1, new long[]{6L}),
+                new TierSlice(0, new long[]{4L, 9L}));
+        assertSlices(subscribers, expected.toArray(TierSlice[]::new));
+        assertSlices(index.getSubscribers(PRODUCT_ID), expected.toArray(TierSlice[]::new));
+    }
+
+    @Test
+    @DisplayName("checkpoint 이후 구독자는 등급 경계에서도 Redis 범위 조회와 DB 적재 결과가 같다")
+    void getSubscribersAfter_AroundTierBoundaries() {
+        // 등급 2: {5, 9}, 등급 1: {0, 7}, 등급 0: {3}
+        assertAfter(2, 9L, new TierSlice(1, new long[]{0L, 7L}), new TierSlice(0, new long[]{3L}));   // 등급의 마지막 유저
+        assertAfter(2, 6L, new TierSlice(2, new long[]{9L}), new TierSlice(1, new long[]{0L, 7L}), new TierSlice(0, new long[]{3L}));  // 없는 유저
+        assertAfter(1, 0L, new TierSlice(1, new long[]{7L}), new TierSlice(0, new long[]{3L}));   // userId 0
+        assertAfter(1, 7L, new TierSlice(0, new long[]{3L}));
+        assertAfter(0, 3L);   // 마지막 유저 이후는 없다.
+        assertAfter(3, 100L, new TierSlice(2, new long[]{5L, 9L}), new TierSlice(1, new long[]{0L, 7L}), new TierSlice(0, new long[]{3L}));  // 구독자가 없는 더 높은 등급
+    }
+
+    // 적재 전(DB 적재 결과를 잘라서)과 적재 후(Redis 범위 조회) 모두 같은 결과인지 확인한다.
+    private static void assertAfter(int lastTier, long lastUserId, TierSlice... expected) {
+        FakeSubscriberStore store = new FakeSubscriberStore();
+        store.insert(PRODUCT_ID, 5L, 2);
+        store.insert(PRODUCT_ID, 9L, 2);
+        store.insert(PRODUCT_ID, 0L, 1);
+        store.insert(PRODUCT_ID, 7L, 1);
+        store.insert(PRODUCT_ID, 3L, 0);
+        ProductSubscriberIndex index = new ProductSubscriberIndex(store.redisTemplate(), store.jdbcTemplate(),
+                new SubscriptionWriteBehindBuffer(mock(ProductUserNotificationRepository.class),
+                        new TransactionTemplate(mock(PlatformTransactionManager.class))));
+
+        assertSlices(index.getSubscribersAfter(PRODUCT_ID, lastTier, lastUserId), expected);
+        assertThat(store.getSubscriberQueries()).isEqualTo(1);
+        assertSlices(index.getSubscribersAfter(PRODUCT_ID, lastTier, lastUserId), expected);
+        assertThat(store.getSubscriberQueries()).isEqualTo(1);
+    }
+
+    static void assertSlices(List<TierSlice> actual, TierSlice... expected) {
+        assertThat(actual).hasSize(expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(actual.get(i).tier()).isEqualTo(expected[i].tier());
+            assertThat(actual.get(i).userIds()).containsExactly(expected[i].userIds());
+        }
+    }
+
+    // 다른 스레드가 락을 기다리거나(수정 후) 이미 끝날 때까지(수정 전) 기다린다.
+    private static void awaitBlockedOrDone(Thread thread) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Thread.State state = thread.getState();
+            if (state == Thread.State.BLOCKED || state == Thread.State.TERMINATED) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.sparta.notificationsystem.subscriber;
+
+import com.sparta.notificationsystem.notification.productnotification.repository.ProductUserNotificationRepository;
+import com.sparta.notificationsystem.notification.productusernotification.entity.ProductUserNotification;
+import com.sparta.notificationsystem.notification.productusernotification.service.SubscriptionWriteBehindBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class SubscriptionWriteBehindBufferTest {
+    @Mock
+    private ProductUserNotificationRepository productUserNotificationRepository;
+
+    private SubscriptionWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        buffer = new SubscriptionWriteBehindBuffer(productUserNotificationRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    @DisplayName("같은 유저의 요청은 마지막 요청만 반영하고, 반영한 요청은 대기 목록에서 지운다")
+    void flush_AppliesLastChangePerUser() {
+        // given
+        buffer.subscribe(1L, 10L, 0);
+        buffer.unsubscribe(1L, 10L);
+        buffer.subscribe(1L, 11L, 0);
+
+        // when
+        buffer.flush();
+
+        // then
+        verify(productUserNotificationRepository).deleteByProductIdAndUserIdIn(1L, Set.of(10L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProductUserNotification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(productUserNotificationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(ProductUserNotification::getUserId).containsExactly(11L);
+        assertThat(buffer.pendingFor(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이미 구독 중인 유저는 새로 저장하지 않고 등급만 바꾼다")
+    void flush_ExistingSubscription_ChangesTier() {
+        // given
+        ProductUserNotification existing = new ProductUserNotification(1L, 10L, 0);
+        when(productUserNotificationRepository.findByProductIdAndUserIdIn(eq(1L), anyCollection())).thenReturn(List.of(existing));
+        buffer.subscribe(1L, 10L, 2);
+
+        // when
+        buffer.flush();
+
+        // then
+        assertThat(existing.getTier()).isEqualTo(2);
+        verify(productUserNotificationRepository).saveAll(List.of());
+    }
+
+    @Test
+    @DisplayName("DB 반영에 실패하면 대기 목록에 남겨두고 다음 주기에 다시 반영한다")
+    void flush_Failure_KeepsPendingForNextFlush() {
+        // given
+        buffer.unsubscribe(1L, 10L);
+        when(productUserNotificationRepository.deleteByProductIdAndUserIdIn(anyLong(), anyCollection()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+
+        // when
+        buffer.flush();
+
+        // then
+        assertThat(buffer.pendingFor(1L)).containsOnlyKeys(10L);
+
+        // when
+        buffer.flush();
+
+        // then
+        assertThat(buffer.pendingFor(1L)).isEmpty();
+        verify(productUserNotificationRepository, times(2)).deleteByProductIdAndUserIdIn(1L, Set.of(10L));
+    }
+}